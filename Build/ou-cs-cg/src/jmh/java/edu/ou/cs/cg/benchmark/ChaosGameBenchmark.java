@@ -0,0 +1,147 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Benchmarks the chaos-game inner loop of Gasket.drawSierpinskiTriangle(),
+// copied here with the glVertex2d() call replaced by a store into a float
+// array, so that only the point generation is measured. The Random is shared
+// and unseeded, as in Gasket.
+//
+// The other benchmarks measure utilities.ChaosGame, which Gasket uses now,
+// serially and in parallel chunks, for comparison, and
+// utilities.SierpinskiPoints, which Viewport and Viewgrid use instead. It maps
+// points cached by address.
+//
+// Run with: gradle jmh -PjmhArgs="ChaosGameBenchmark"
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.benchmark;
+
+//import java.lang.*;
+import java.awt.geom.Point2D;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.utilities.ChaosGame;
+import edu.ou.cs.cg.utilities.SierpinskiPoints;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ChaosGameBenchmark</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChaosGameBenchmark
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final Random	RANDOM = new Random();
+
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"1000", "100000"})
+	public int					m;		// Number of points to draw
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private Point2D.Double[]		t;		// Base triangle
+	private float[]				xy;		// Stand-in for glVertex2d()
+
+	private double[]				corners;	// Base triangle, for ChaosGame
+	private ChaosGame				serial;
+	private ChaosGame				parallel;
+	private SierpinskiPoints		lattice;
+
+	//**********************************************************************
+	// Setup
+	//**********************************************************************
+
+	@Setup(Level.Trial)
+	public void	setup()
+	{
+		// Gasket's fixed base triangle (vertex mode 0)
+		t = new Point2D.Double[3];
+		t[0] = new Point2D.Double(0.0, 1.0);
+		t[1] = new Point2D.Double(-1.0, -1.0);
+		t[2] = new Point2D.Double(1.0, -1.0);
+
+		xy = new float[2 * m];
+
+		corners = new double[] { 0.0, 1.0, -1.0, -1.0, 1.0, -1.0 };
+		serial = new ChaosGame(1L);
+		parallel = new ChaosGame(1L);
+		parallel.setParallel(true);
+		lattice = new SierpinskiPoints();
+		lattice.ensure(m);
+	}
+
+	//**********************************************************************
+	// Benchmarks
+	//**********************************************************************
+
+	// Time per call is for m points.
+	@Benchmark
+	public float[]	drawSierpinskiTriangle()
+	{
+		Point2D.Double		p = new Point2D.Double();
+
+		p.x = t[0].x;							// Initial x coordinate
+		p.y = t[0].y;							// Initial y coordinate
+
+		for (int i=0; i<m; i++)				// Draw m points
+		{
+			int	index = RANDOM.nextInt(3);
+
+			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triangle
+			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
+
+			xy[2*i] = (float)p.x;
+			xy[2*i+1] = (float)p.y;
+		}
+
+		return xy;
+	}
+
+	// Time per call is for m points.
+	@Benchmark
+	public float[]	generateSerial()
+	{
+		return serial.generate(corners, m, xy);
+	}
+
+	// Time per call is for m points.
+	@Benchmark
+	public float[]	generateParallel()
+	{
+		return parallel.generate(corners, m, xy);
+	}
+
+	// Time per call is for m points, already cached.
+	@Benchmark
+	public float[]	mapAddressed()
+	{
+		return lattice.map(corners, m, xy);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,135 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Benchmarks the homework04 polygon primitives: containment (what
+// View.contains() delegates to), isLeft(), dot(), and building a regular
+// polygon (what View.createPolygon() became). Query points are generated once
+// per trial from a fixed seed and cover the polygon's bounding box, so roughly
+// three quarters fall inside and the rest outside.
+//
+// Run with: gradle jmh -PjmhArgs="GeometryBenchmark"
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.benchmark;
+
+//import java.lang.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.assignment.homework04.ConvexPolygon;
+
+//******************************************************************************
+
+/**
+ * The <CODE>GeometryBenchmark</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeometryBenchmark
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		POINTS = 1024;		// Queries per call
+	private static final long		SEED = 20230318L;
+
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"3", "12", "32", "256", "4096"})
+	public int					sides;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private ConvexPolygon			polygon;
+	private double[]				xy;		// Query points, interleaved
+
+	//**********************************************************************
+	// Setup
+	//**********************************************************************
+
+	@Setup(Level.Trial)
+	public void	setup()
+	{
+		Random	random = new Random(SEED);
+
+		polygon = ConvexPolygon.createRegular(sides, 1.0);
+		xy = new double[2 * POINTS];
+
+		for (int i=0; i<2*POINTS; i++)
+			xy[i] = 2.0 * random.nextDouble() - 1.0;
+	}
+
+	//**********************************************************************
+	// Benchmarks
+	//**********************************************************************
+
+	// Time per call is for POINTS containment tests.
+	@Benchmark
+	public int	contains()
+	{
+		int	inside = 0;
+
+		for (int i=0; i<POINTS; i++)
+			if (polygon.contains(xy[2*i], xy[2*i+1]))
+				inside++;
+
+		return inside;
+	}
+
+	// Time per call is for POINTS tests against the polygon's first side.
+	@Benchmark
+	public int	isLeft()
+	{
+		double	x1 = polygon.getX(0);
+		double	y1 = polygon.getY(0);
+		double	x2 = polygon.getX(1);
+		double	y2 = polygon.getY(1);
+		int	left = 0;
+
+		for (int i=0; i<POINTS; i++)
+			if (ConvexPolygon.isLeft(x1, y1, x2, y2, xy[2*i], xy[2*i+1], true))
+				left++;
+
+		return left;
+	}
+
+	// Time per call is for POINTS dot products.
+	@Benchmark
+	public double	dot()
+	{
+		double	sum = 0.0;
+
+		for (int i=0; i<POINTS-1; i++)
+			sum += ConvexPolygon.dot(xy[2*i], xy[2*i+1], 0.0,
+									 xy[2*i+2], xy[2*i+3], 0.0);
+
+		return sum;
+	}
+
+	@Benchmark
+	public ConvexPolygon	createPolygon()
+	{
+		return ConvexPolygon.createRegular(sides, 1.0);
+	}
+}
+
+//******************************************************************************
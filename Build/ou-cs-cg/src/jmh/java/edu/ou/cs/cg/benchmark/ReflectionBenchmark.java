@@ -0,0 +1,107 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Benchmarks one reflection update of every moving object in homework04, the
+// per-frame work of View.update(). The objects start spread out over a trial
+// and keep moving from call to call, so bounces happen at the same average
+// rate as in the running application. Higher speed factors mean more bounces
+// per update.
+//
+// Run with: gradle jmh -PjmhArgs="ReflectionBenchmark"
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.benchmark;
+
+//import java.lang.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.assignment.homework04.Simulation;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ReflectionBenchmark</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReflectionBenchmark
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		SPREAD = 100;		// Updates before timing
+
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"2", "5", "4096"})
+	public int					sides;
+
+	@Param({"1", "10000"})
+	public int					count;
+
+	@Param({"1.0", "100.0"})
+	public double					factor;
+
+	@Param({"false", "true"})
+	public boolean				parallel;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private Simulation				simulation;
+
+	//**********************************************************************
+	// Setup
+	//**********************************************************************
+
+	@Setup(Level.Trial)
+	public void	setup()
+	{
+		simulation = new Simulation(count);
+
+		simulation.setNumber(sides);
+		simulation.setFactor(factor);
+		simulation.setParallel(parallel);
+
+		for (int i=0; i<SPREAD; i++)
+			simulation.step();
+	}
+
+	//**********************************************************************
+	// Benchmarks
+	//**********************************************************************
+
+	// Time per call is for one update of all count objects.
+	@Benchmark
+	public long	step()
+	{
+		return simulation.step();
+	}
+
+	// Time per call is for skipping object 0 ahead a million updates.
+	@Benchmark
+	public long	fastForward()
+	{
+		return simulation.fastForwardObject(1000000L);
+	}
+}
+
+//******************************************************************************
@@ -20,10 +20,14 @@
 //   4. Add a method to modify the variable.
 //
 // Concurrency management is important because the JOGL and the Java AWT run on
-// different threads. The modify methods use the GLAutoDrawable.invoke() method
-// so that all changes to variables take place on the JOGL thread. Because this
-// happens at the END of GLEventListener.display(), all changes will be visible
-// to the View.update() and render() methods in the next animation cycle.
+// different threads. The modify methods put updates on an UpdateQueue so that
+// all changes to variables take place on the JOGL thread. Because the View
+// applies them at the START of GLEventListener.display(), all changes will be
+// visible to the View.update() and render() methods in the same cycle.
+//
+// After applying updates, the model publishes an immutable State snapshot of
+// its variables. The View draws from the snapshot, which reads the same all
+// frame long, and any thread can read it safely.
 //
 //******************************************************************************
 
@@ -34,7 +38,7 @@ import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.util.*;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.UpdateQueue;
 
 //******************************************************************************
 
@@ -52,6 +56,7 @@ public final class Model
 
 	// State (internal) variables
 	private final View				view;
+	private final UpdateQueue			updates;	// To the OpenGL thread
 
 	// Model variables
 	private int						sides;		// Number of sides
@@ -60,6 +65,9 @@ public final class Model
 	private boolean					edge;		// Edge shape?
 	private boolean					back;		// Fill background circle?
 
+	// Snapshot of the model variables, for reading from any thread
+	private volatile State				state;
+
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
@@ -68,18 +76,29 @@ public final class Model
 	{
 		this.view = view;
 
+		// Initialize updates (applied by the View on the OpenGL thread)
+		updates = new UpdateQueue();
+
 		// Initialize user-adjustable variables (with reasonable default values)
 		sides = 3;
 		radius = 1.0;
 		fill = true;
 		edge = false;
 		back = false;
+
+		state = new State(this);
 	}
 
 	//**********************************************************************
 	// Public Methods (Access Variables)
 	//**********************************************************************
 
+	// The latest published snapshot of all of the variables.
+	public State	getState()
+	{
+		return state;
+	}
+
 	public int	getSides()
 	{
 		return sides;
@@ -111,7 +130,7 @@ public final class Model
 
 	public void	setSides(int v)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				sides = Math.min(Math.max(v, View.MIN_SIDES), View.MAX_SIDES);
 			}
@@ -120,7 +139,7 @@ public final class Model
 
 	public void	setRadius(double v)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				radius = v;
 			}
@@ -129,7 +148,7 @@ public final class Model
 
 	public void	toggleFill()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				fill = !fill;
 			}
@@ -138,7 +157,7 @@ public final class Model
 
 	public void	toggleEdge()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				edge = !edge;
 			}
@@ -147,17 +166,74 @@ public final class Model
 
 	public void	toggleBack()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				back = !back;
 			}
 		});;
 	}
 
+	//**********************************************************************
+	// Public Methods (Apply Updates)
+	//**********************************************************************
+
+	// Special method for privileged use by the View class ONLY. Applies all
+	// updates made since the last call, in order, then publishes a new State
+	// if anything changed. Call on the OpenGL thread.
+	public void	applyUpdates(GLAutoDrawable drawable)
+	{
+		if (updates.drain(drawable) > 0)
+			state = new State(this);
+	}
+
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
 
+	// An immutable copy of the model variables at one moment.
+	public static final class State
+	{
+		private final int			sides;
+		private final double		radius;
+		private final boolean		fill;
+		private final boolean		edge;
+		private final boolean		back;
+
+		private State(Model model)
+		{
+			sides = model.sides;
+			radius = model.radius;
+			fill = model.fill;
+			edge = model.edge;
+			back = model.back;
+		}
+
+		public int	getSides()
+		{
+			return sides;
+		}
+
+		public double	getRadius()
+		{
+			return radius;
+		}
+
+		public boolean	getFill()
+		{
+			return fill;
+		}
+
+		public boolean	getEdge()
+		{
+			return edge;
+		}
+
+		public boolean	getBack()
+		{
+			return back;
+		}
+	}
+
 	// Convenience class to simplify the implementation of most updaters.
 	private abstract class BasicUpdater implements GLRunnable
 	{
@@ -187,7 +263,8 @@ public final class Model
 		public final void	update(GL2 gl)
 		{
 			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y,
+																 0.0);
 
 			update(p);
 		}
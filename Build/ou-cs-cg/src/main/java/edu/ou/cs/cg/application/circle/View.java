@@ -10,6 +10,9 @@
 //******************************************************************************
 // Notes:
 //
+// The circles are drawn from a VertexBatch (VBO) that is only refilled when
+// the number of sides or the radius changes.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.application.circle;
@@ -25,7 +28,9 @@ import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.TransformCache;
 import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -65,6 +70,7 @@ public final class View
 	private int						h;			// Canvas height
 
 	private TextRenderer				renderer;
+	private final TransformCache		transform;	// Mirrors the GL matrices
 
 	private final FPSAnimator			animator;
 	private int						counter;	// Frame counter
@@ -74,6 +80,11 @@ public final class View
 	private final KeyHandler			keyHandler;
 	//private final MouseHandler			mouseHandler;
 
+	// Vertices of the back, fill, and edge circles, in that order
+	private final VertexBatch			circles;
+	private int						loadedSides;	// In circles
+	private double					loadedRadius;	// In circles
+
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
@@ -85,6 +96,7 @@ public final class View
 		// Initialize rendering
 		counter = 0;
 		canvas.addGLEventListener(this);
+		transform = new TransformCache();
 
 		// Initialize model (scene data and parameter manager)
 		model = new Model(this);
@@ -93,6 +105,11 @@ public final class View
 		keyHandler = new KeyHandler(this, model);
 		//mouseHandler = new MouseHandler(this, model);
 
+		// Initialize vertices (loaded on the first frame)
+		circles = new VertexBatch(3 * MAX_SIDES, false);
+		loadedSides = 0;
+		loadedRadius = 0.0;
+
 		// Initialize animation
 		animator = new FPSAnimator(canvas, DEFAULT_FRAMES_PER_SECOND);
 		animator.start();
@@ -117,6 +134,12 @@ public final class View
 		return h;
 	}
 
+	// Maps between view and scene coordinates without querying GL.
+	public TransformCache	getTransform()
+	{
+		return transform;
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
@@ -125,6 +148,7 @@ public final class View
 	{
 		w = drawable.getSurfaceWidth();
 		h = drawable.getSurfaceHeight();
+		transform.setViewport(0, 0, w, h);
 
 		renderer = new TextRenderer(new Font("Monospaced", Font.PLAIN, 12),
 									true, true);
@@ -134,11 +158,15 @@ public final class View
 
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		circles.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
 	public void	display(GLAutoDrawable drawable)
 	{
+		model.applyUpdates(drawable);				// Apply input since last
+
 		updatePipeline(drawable);
 
 		update(drawable);
@@ -149,6 +177,7 @@ public final class View
 	{
 		this.w = w;
 		this.h = h;
+		transform.setViewport(x, y, w, h);
 	}
 
 	//**********************************************************************
@@ -195,6 +224,7 @@ public final class View
 		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
 		gl.glLoadIdentity();						// Set to identity matrix
 		glu.gluOrtho2D(-1.1, 1.1, -1.1, 1.1);	// 2D translate and scale
+		transform.setOrtho2D(-1.1, 1.1, -1.1, 1.1);
 	}
 
 	//**********************************************************************
@@ -210,11 +240,12 @@ public final class View
 		// Draw all text in medium gray
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
 
-		String		sn = ("[q|w] Sides =      " + model.getSides());
-		String		sr = ("[a|s] Radius =     " + model.getRadius());
-		String		sf = ("[f]   Fill shape = " + model.getFill());
-		String		se = ("[e]   Edge shape = " + model.getEdge());
-		String		sb = ("[b]   Background = " + model.getBack());
+		Model.State	state = model.getState();
+		String		sn = ("[q|w] Sides =      " + state.getSides());
+		String		sr = ("[a|s] Radius =     " + state.getRadius());
+		String		sf = ("[f]   Fill shape = " + state.getFill());
+		String		se = ("[e]   Edge shape = " + state.getEdge());
+		String		sb = ("[b]   Background = " + state.getBack());
 
 		renderer.draw(sn, 2, 2);
 		renderer.draw(sr, 2, 16);
@@ -227,71 +258,68 @@ public final class View
 
 	private void	drawMain(GL2 gl)
 	{
-		if (model.getBack())
+		Model.State	state = model.getState();
+
+		if ((state.getSides() != loadedSides) ||
+			(state.getRadius() != loadedRadius))
+			loadCircles(state.getSides(), state.getRadius());
+
+		if (state.getBack())
 			backCircle(gl);						// Fill the reference circle
 
-		if (model.getFill())
+		if (state.getFill())
 			fillCircle(gl);						// Fill the circle
 
-		if (model.getEdge())
+		if (state.getEdge())
 			edgeCircle(gl);						// Edge the circle
 	}
 
 	private void	backCircle(GL2 gl)
 	{
-		int		sides = MAX_SIDES;
-		double	radius = model.getRadius();
-
-		gl.glBegin(GL2.GL_POLYGON);
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// White
-
-		for (int i=0; i<sides; i++)
-		{
-			double	theta = (2.0 * Math.PI) * (i / (double)sides);
+		circles.draw(gl, GL2.GL_POLYGON, 0, MAX_SIDES);
+	}
 
-			gl.glVertex2d(radius * Math.cos(theta),
-						  radius * Math.sin(theta));
-		}
+	private void	fillCircle(GL2 gl)
+	{
+		circles.draw(gl, GL2.GL_POLYGON, MAX_SIDES, loadedSides);
+	}
 
-		gl.glEnd();
+	private void	edgeCircle(GL2 gl)
+	{
+		circles.draw(gl, GL.GL_LINE_LOOP, MAX_SIDES + loadedSides,
+					 loadedSides);
 	}
 
-	private void	fillCircle(GL2 gl)
+	//**********************************************************************
+	// Private Methods (Vertices)
+	//**********************************************************************
+
+	// Replaces the vertices of all three circles.
+	private void	loadCircles(int sides, double radius)
 	{
-		int		sides = model.getSides();
-		double	radius = model.getRadius();
+		circles.clear();
 
-		gl.glBegin(GL2.GL_POLYGON);
-		gl.glColor3f(1.0f, 1.0f, 0.0f);		// Yellow
+		circles.color(1.0f, 1.0f, 1.0f);		// White
+		addCircle(MAX_SIDES, radius);
 
-		for (int i=0; i<sides; i++)
-		{
-			double	theta = (2.0 * Math.PI) * (i / (double)sides);
+		circles.color(1.0f, 1.0f, 0.0f);		// Yellow
+		addCircle(sides, radius);
 
-			gl.glVertex2d(radius * Math.cos(theta),
-						  radius * Math.sin(theta));
-		}
+		circles.color(1.0f, 0.0f, 0.0f);		// Red
+		addCircle(sides, radius);
 
-		gl.glEnd();
+		loadedSides = sides;
+		loadedRadius = radius;
 	}
 
-	private void	edgeCircle(GL2 gl)
+	private void	addCircle(int sides, double radius)
 	{
-		int		sides = model.getSides();
-		double	radius = model.getRadius();
-
-		gl.glBegin(GL.GL_LINE_LOOP);
-		gl.glColor3f(1.0f, 0.0f, 0.0f);		// Red
-
 		for (int i=0; i<sides; i++)
 		{
 			double	theta = (2.0 * Math.PI) * (i / (double)sides);
 
-			gl.glVertex2d(radius * Math.cos(theta),
-						  radius * Math.sin(theta));
+			circles.add(radius * Math.cos(theta), radius * Math.sin(theta));
 		}
-
-		gl.glEnd();
 	}
 }
 
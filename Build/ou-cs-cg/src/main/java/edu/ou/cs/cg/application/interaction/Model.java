@@ -20,10 +20,11 @@
 //   4. Add a method to modify the variable.
 //
 // Concurrency management is important because the JOGL and the Java AWT run on
-// different threads. The modify methods use the GLAutoDrawable.invoke() method
-// so that all changes to variables take place on the JOGL thread. Because this
-// happens at the END of GLEventListener.display(), all changes will be visible
-// to the View.update() and render() methods in the next animation cycle.
+// different threads. The modify methods put updates on an UpdateQueue so that
+// all changes to variables take place on the JOGL thread. Because the View
+// applies them at the START of GLEventListener.display(), all changes will be
+// visible to the View.update() and render() methods in the same cycle. Cursor
+// updates are coalesced, so only the latest position per frame is mapped.
 //
 //******************************************************************************
 
@@ -34,7 +35,7 @@ import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.util.*;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.UpdateQueue;
 
 //******************************************************************************
 
@@ -52,6 +53,8 @@ public final class Model
 
 	// State (internal) variables
 	private final View					view;
+	private final UpdateQueue				updates;	// To the OpenGL thread
+	private final UpdateQueue.Slot<Point>	cursorSlot;	// Coalesced
 
 	// Model variables
 	private Point2D.Double				origin;	// Current origin coords
@@ -67,6 +70,14 @@ public final class Model
 	{
 		this.view = view;
 
+		// Initialize updates (applied by the View on the OpenGL thread)
+		updates = new UpdateQueue();
+		cursorSlot = updates.createSlot(new UpdateQueue.Handler<Point>() {
+			public void	update(GL2 gl, Point q) {
+				cursor = ((q == null) ? null : mapViewToScene(q));
+			}
+		});
+
 		// Initialize user-adjustable variables (with reasonable default values)
 		origin = new Point2D.Double(0.0, 0.0);
 		cursor = null;
@@ -107,7 +118,7 @@ public final class Model
 
 	public void	setOriginInSceneCoordinates(Point2D.Double q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				origin = new Point2D.Double(q.x, q.y);
 			}
@@ -116,7 +127,7 @@ public final class Model
 
 	public void	setOriginInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		updates.invoke(new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				origin = new Point2D.Double(p[0], p[1]);
 			}
@@ -125,25 +136,17 @@ public final class Model
 
 	public void	setCursorInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				cursor = new Point2D.Double(p[0], p[1]);
-			}
-		});;
+		updates.set(cursorSlot, q);
 	}
 
 	public void	turnCursorOff()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				cursor = null;
-			}
-		});;
+		updates.set(cursorSlot, null);
 	}
 
 	public void	addPolylinePointInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		updates.invoke(new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				points.add(new Point2D.Double(p[0], p[1]));
 			}
@@ -152,7 +155,7 @@ public final class Model
 
 	public void	clearPolyline()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				points.clear();
 			}
@@ -161,13 +164,39 @@ public final class Model
 
 	public void	toggleColorful()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				colorful = !colorful;
 			}
 		});;
 	}
 
+	//**********************************************************************
+	// Public Methods (Apply Updates)
+	//**********************************************************************
+
+	// Special method for privileged use by the View class ONLY. Applies all
+	// updates made since the last call, in order. Returns whether there were
+	// any. Call on the OpenGL thread, after the View has loaded the matrices
+	// that input maps through.
+	public boolean	applyUpdates(GLAutoDrawable drawable)
+	{
+		return (updates.drain(drawable) > 0);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Maps a point in view coordinates (integers/pixels) to the scene.
+	private Point2D.Double	mapViewToScene(Point q)
+	{
+		int		h = view.getHeight();
+		double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y, 0.0);
+
+		return new Point2D.Double(p[0], p[1]);
+	}
+
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
@@ -201,7 +230,8 @@ public final class Model
 		public final void	update(GL2 gl)
 		{
 			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y,
+																 0.0);
 
 			update(p);
 		}
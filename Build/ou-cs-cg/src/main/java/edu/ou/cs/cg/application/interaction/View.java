@@ -28,7 +28,7 @@ import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.TransformCache;
 
 //******************************************************************************
 
@@ -65,6 +65,8 @@ public final class View
 	private int						h;			// Canvas height
 
 	private TextRenderer				renderer;
+	private final TransformCache		transform;	// Mirrors the GL matrices
+	private final double[]				mapped;		// Mapped in drawMode()
 
 	private final FPSAnimator			animator;
 	private int						counter;	// Frame counter
@@ -85,6 +87,8 @@ public final class View
 		// Initialize rendering
 		counter = 0;
 		canvas.addGLEventListener(this);
+		transform = new TransformCache();
+		mapped = new double[6];
 
 		// Initialize model (scene data and parameter manager)
 		model = new Model(this);
@@ -117,6 +121,12 @@ public final class View
 		return h;
 	}
 
+	// Maps between view and scene coordinates without querying GL.
+	public TransformCache	getTransform()
+	{
+		return transform;
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
@@ -125,6 +135,7 @@ public final class View
 	{
 		w = drawable.getSurfaceWidth();
 		h = drawable.getSurfaceHeight();
+		transform.setViewport(0, 0, w, h);
 
 		renderer = new TextRenderer(new Font("Monospaced", Font.PLAIN, 12),
 									true, true);
@@ -139,7 +150,10 @@ public final class View
 
 	public void	display(GLAutoDrawable drawable)
 	{
-		updatePipeline(drawable);
+		updatePipeline(drawable);					// Before input, to map it
+
+		if (model.applyUpdates(drawable))			// Apply input since last
+			updatePipeline(drawable);				// Origin may have moved
 
 		update(drawable);
 		render(drawable);
@@ -149,6 +163,7 @@ public final class View
 	{
 		this.w = w;
 		this.h = h;
+		transform.setViewport(x, y, w, h);
 	}
 
 	//**********************************************************************
@@ -201,6 +216,7 @@ public final class View
 		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
 		gl.glLoadIdentity();						// Set to identity matrix
 		glu.gluOrtho2D(xmin, xmax, ymin, ymax);	// 2D translate and scale
+		transform.setOrtho2D(xmin, xmax, ymin, ymax);
 	}
 
 	//**********************************************************************
@@ -210,12 +226,17 @@ public final class View
 	private void	drawMode(GLAutoDrawable drawable)
 	{
 		GL2		gl = drawable.getGL().getGL2();
-		double[]	p = Utilities.mapViewToScene(gl, 0.5 * w, 0.5 * h, 0.0);
-		double[]	q = Utilities.mapSceneToView(gl, 0.0, 0.0, 0.0);
-		String		svc = ("View center in scene: [" + FORMAT.format(p[0]) +
-						   " , " + FORMAT.format(p[1]) + "]");
-		String		sso = ("Scene origin in view: [" + FORMAT.format(q[0]) +
-						   " , " + FORMAT.format(q[1]) + "]");
+
+		// View center in scene at 0-2, scene origin in view at 3-5
+		transform.mapViewToScene(0.5 * w, 0.5 * h, 0.0, mapped, 0);
+		transform.mapSceneToView(0.0, 0.0, 0.0, mapped, 3);
+
+		String		svc = ("View center in scene: [" +
+						   FORMAT.format(mapped[0]) + " , " +
+						   FORMAT.format(mapped[1]) + "]");
+		String		sso = ("Scene origin in view: [" +
+						   FORMAT.format(mapped[3]) + " , " +
+						   FORMAT.format(mapped[4]) + "]");
 
 		renderer.beginRendering(w, h);
 
@@ -20,10 +20,15 @@
 //   4. Add a method to modify the variable.
 //
 // Concurrency management is important because the JOGL and the Java AWT run on
-// different threads. The modify methods use the GLAutoDrawable.invoke() method
-// so that all changes to variables take place on the JOGL thread. Because this
-// happens at the END of GLEventListener.display(), all changes will be visible
-// to the View.update() and render() methods in the next animation cycle.
+// different threads. The modify methods put updates on an UpdateQueue so that
+// all changes to variables take place on the JOGL thread. Because the View
+// applies them at the START of GLEventListener.display(), all changes will be
+// visible to the View.update() and render() methods in the same cycle. Cursor
+// updates are coalesced, so only the latest position per frame is mapped.
+//
+// After applying updates, the model publishes an immutable State snapshot of
+// its variables (other than the polyline, which only the OpenGL thread reads)
+// for the View to draw from without allocating.
 //
 //******************************************************************************
 
@@ -34,7 +39,7 @@ import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.util.*;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.UpdateQueue;
 
 //******************************************************************************
 
@@ -52,6 +57,8 @@ public final class Model
 
 	// State (internal) variables
 	private final View					view;
+	private final UpdateQueue				updates;	// To the OpenGL thread
+	private final UpdateQueue.Slot<Point>	cursorSlot;	// Coalesced
 
 	// Model variables
 	private Point2D.Double				origin;	// Current origin coords
@@ -59,6 +66,9 @@ public final class Model
 	private ArrayList<Point2D.Double>	points;	// Drawn polyline points
 	private boolean					colorful;	// Show rainbow version?
 
+	// Snapshot of the model variables, for reading from any thread
+	private volatile State				state;
+
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
@@ -67,17 +77,33 @@ public final class Model
 	{
 		this.view = view;
 
+		// Initialize updates (applied by the View on the OpenGL thread)
+		updates = new UpdateQueue();
+		cursorSlot = updates.createSlot(new UpdateQueue.Handler<Point>() {
+			public void	update(GL2 gl, Point q) {
+				cursor = ((q == null) ? null : mapViewToScene(q));
+			}
+		});
+
 		// Initialize user-adjustable variables (with reasonable default values)
 		origin = new Point2D.Double(0.0, 0.0);
 		cursor = null;
 		points = new ArrayList<Point2D.Double>();
 		colorful = false;
+
+		state = new State(this);
 	}
 
 	//**********************************************************************
 	// Public Methods (Access Variables)
 	//**********************************************************************
 
+	// The latest published snapshot of the variables.
+	public State	getState()
+	{
+		return state;
+	}
+
 	public Point2D.Double	getOrigin()
 	{
 		return new Point2D.Double(origin.x, origin.y);
@@ -107,7 +133,7 @@ public final class Model
 
 	public void	setOriginInSceneCoordinates(Point2D.Double q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				origin = new Point2D.Double(q.x, q.y);
 			}
@@ -116,7 +142,7 @@ public final class Model
 
 	public void	setOriginInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		updates.invoke(new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				origin = new Point2D.Double(p[0], p[1]);
 			}
@@ -125,25 +151,17 @@ public final class Model
 
 	public void	setCursorInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				cursor = new Point2D.Double(p[0], p[1]);
-			}
-		});;
+		updates.set(cursorSlot, q);
 	}
 
 	public void	turnCursorOff()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				cursor = null;
-			}
-		});;
+		updates.set(cursorSlot, null);
 	}
 
 	public void	addPolylinePointInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		updates.invoke(new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				points.add(new Point2D.Double(p[0], p[1]));
 			}
@@ -152,7 +170,7 @@ public final class Model
 
 	public void	clearPolyline()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				points.clear();
 			}
@@ -161,17 +179,99 @@ public final class Model
 
 	public void	toggleColorful()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				colorful = !colorful;
 			}
 		});;
 	}
 
+	//**********************************************************************
+	// Public Methods (Apply Updates)
+	//**********************************************************************
+
+	// Special method for privileged use by the View class ONLY. Applies all
+	// updates made since the last call, in order, then publishes a new State
+	// if anything changed. Returns whether anything changed. Call on the OpenGL
+	// thread, after the View has loaded the matrices that input maps through.
+	public boolean	applyUpdates(GLAutoDrawable drawable)
+	{
+		if (updates.drain(drawable) == 0)
+			return false;
+
+		state = new State(this);
+
+		return true;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Maps a point in view coordinates (integers/pixels) to the scene.
+	private Point2D.Double	mapViewToScene(Point q)
+	{
+		int		h = view.getHeight();
+		double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y, 0.0);
+
+		return new Point2D.Double(p[0], p[1]);
+	}
+
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
 
+	// An immutable copy of the model variables at one moment.
+	public static final class State
+	{
+		private final double		originX;
+		private final double		originY;
+		private final boolean		cursor;		// Is there a cursor?
+		private final double		cursorX;
+		private final double		cursorY;
+		private final boolean		colorful;
+
+		private State(Model model)
+		{
+			originX = model.origin.x;
+			originY = model.origin.y;
+			cursor = (model.cursor != null);
+			cursorX = (cursor ? model.cursor.x : 0.0);
+			cursorY = (cursor ? model.cursor.y : 0.0);
+			colorful = model.colorful;
+		}
+
+		public double	getOriginX()
+		{
+			return originX;
+		}
+
+		public double	getOriginY()
+		{
+			return originY;
+		}
+
+		public boolean	hasCursor()
+		{
+			return cursor;
+		}
+
+		public double	getCursorX()
+		{
+			return cursorX;
+		}
+
+		public double	getCursorY()
+		{
+			return cursorY;
+		}
+
+		public boolean	getColorful()
+		{
+			return colorful;
+		}
+	}
+
 	// Convenience class to simplify the implementation of most updaters.
 	private abstract class BasicUpdater implements GLRunnable
 	{
@@ -201,7 +301,8 @@ public final class Model
 		public final void	update(GL2 gl)
 		{
 			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y,
+																 0.0);
 
 			update(p);
 		}
@@ -0,0 +1,265 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Vertices are stored flat as x0, y0, x1, y1, ... in counterclockwise order.
+// Edge i runs from vertex i to vertex i+1 (wrapping around). For each edge,
+// the edge vector, edge length, unit inward normal, and normal offset are
+// computed once at construction, so that per-frame containment and reflection
+// tests touch only primitive arrays and never allocate.
+//
+// A point p is strictly inside edge i when dot(n_i, p) > offset_i.
+//
+// Containment for large polygons is O(log N). The diagonals from vertex 0 cut
+// the polygon into a fan of triangles (wedges). A binary search with isLeft()
+// finds the wedge around the point, after which only the one side opposite
+// vertex 0 in that wedge needs testing. Below LINEAR_SIDES sides, testing
+// every side is faster and is used instead.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ConvexPolygon</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class ConvexPolygon
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		LINEAR_SIDES = 32;	// Linear test below this
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int			n;		// Number of sides
+	private final double[]		xy;		// Vertex coordinates, interleaved
+	private final double[]		exy;	// Edge vectors, interleaved
+	private final double[]		nxy;	// Unit inward normals, interleaved
+	private final double[]		len;	// Edge lengths
+	private final double[]		off;	// Normal offsets, dot(n_i, p_i)
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Creates a polygon from interleaved x,y vertex coordinates, which must
+	// describe a convex polygon in counterclockwise order. A repeated closing
+	// vertex at the end is dropped.
+	public ConvexPolygon(double[] coords)
+	{
+		int	count = coords.length / 2;
+
+		if ((count > 1) && (coords[0] == coords[2 * count - 2]) &&
+			(coords[1] == coords[2 * count - 1]))
+			count--;
+
+		if (count < 3)
+			throw new IllegalArgumentException("Polygon needs 3+ vertices");
+
+		n = count;
+		xy = new double[2 * n];
+		exy = new double[2 * n];
+		nxy = new double[2 * n];
+		len = new double[n];
+		off = new double[n];
+
+		System.arraycopy(coords, 0, xy, 0, 2 * n);
+
+		for (int i=0; i<n; i++)
+		{
+			int		j = (i + 1) % n;
+			double	ex = xy[2*j] - xy[2*i];
+			double	ey = xy[2*j+1] - xy[2*i+1];
+			double	d = Math.sqrt(ex * ex + ey * ey);
+
+			if (d == 0.0)
+				throw new IllegalArgumentException("Polygon has a zero side");
+
+			exy[2*i] = ex;
+			exy[2*i+1] = ey;
+			len[i] = d;
+
+			// Rotate the edge 90 degrees counterclockwise to point inward
+			nxy[2*i] = -ey / d;
+			nxy[2*i+1] = ex / d;
+			off[i] = nxy[2*i] * xy[2*i] + nxy[2*i+1] * xy[2*i+1];
+		}
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Creates a regular N-gon with points stored in counterclockwise order,
+	// centered at the origin with its first vertex at (radius, 0.0).
+	public static ConvexPolygon	createRegular(int sides, double radius)
+	{
+		double[]	coords = new double[2 * sides];
+		double		delta = 2.0 * Math.PI / sides;
+
+		for (int i=0; i<sides; i++)
+		{
+			double	theta = i * delta;
+
+			coords[2*i] = radius * Math.cos(theta);
+			coords[2*i+1] = radius * Math.sin(theta);
+		}
+
+		return new ConvexPolygon(coords);
+	}
+
+	// This might be a method to calculate a dot product. Sure seems like it.
+	public static double	dot(double vx, double vy, double vz,
+								double wx, double wy, double wz)
+	{
+		return (vx * wx) + (vy * wy) + (vz * wz);
+	}
+
+	// Determines if point q is to the left of line p1->p2. If strict is false,
+	// points exactly on the line are considered to be left of it.
+	public static boolean	isLeft(double p1x, double p1y,
+								   double p2x, double p2y,
+								   double qx, double qy, boolean strict)
+	{
+		// The z component of the cross product of p1->p2 and p1->q, which is
+		// the dot product of p1->q with p1->p2 rotated 90 degrees to the left
+		double	c = dot(-(p2y - p1y), p2x - p1x, 0.0, qx - p1x, qy - p1y, 0.0);
+
+		return (strict ? (c > 0.0) : (c >= 0.0));
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getSides()
+	{
+		return n;
+	}
+
+	public double	getX(int i)
+	{
+		return xy[2*i];
+	}
+
+	public double	getY(int i)
+	{
+		return xy[2*i+1];
+	}
+
+	public double	getEdgeX(int i)
+	{
+		return exy[2*i];
+	}
+
+	public double	getEdgeY(int i)
+	{
+		return exy[2*i+1];
+	}
+
+	public double	getNormalX(int i)
+	{
+		return nxy[2*i];
+	}
+
+	public double	getNormalY(int i)
+	{
+		return nxy[2*i+1];
+	}
+
+	public double	getLength(int i)
+	{
+		return len[i];
+	}
+
+	public double	getOffset(int i)
+	{
+		return off[i];
+	}
+
+	// Direct access to the interleaved unit inward normals, for bulk loops.
+	// Callers must not modify the array.
+	double[]	getNormals()
+	{
+		return nxy;
+	}
+
+	// Direct access to the normal offsets, for bulk loops. Callers must not
+	// modify the array.
+	double[]	getOffsets()
+	{
+		return off;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Signed distance of point (x, y) inside side i. Negative means outside.
+	public double	distance(int i, double x, double y)
+	{
+		return nxy[2*i] * x + nxy[2*i+1] * y - off[i];
+	}
+
+	// Determines if point (x, y) is inside the polygon. Points exactly on any
+	// side of the polygon are considered to be outside of it.
+	public boolean	contains(double x, double y)
+	{
+		if (n < LINEAR_SIDES)
+			return containsLinear(x, y);
+
+		// Outside unless strictly between the two sides at vertex 0
+		if ((distance(0, x, y) <= 0.0) || (distance(n - 1, x, y) <= 0.0))
+			return false;
+
+		// Find the wedge v0, vi, vi+1 around the point. Invariant: the point
+		// is left of (or on) v0->vlo and strictly right of v0->vhi.
+		double	x0 = xy[0];
+		double	y0 = xy[1];
+		int	lo = 1;
+		int	hi = n - 1;
+
+		while (hi - lo > 1)
+		{
+			int	mid = (lo + hi) >>> 1;
+
+			if (isLeft(x0, y0, xy[2*mid], xy[2*mid+1], x, y, false))
+				lo = mid;
+			else
+				hi = mid;
+		}
+
+		// Inside the wedge, the side opposite v0 is the only one left to test
+		return (distance(lo, x, y) > 0.0);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Tests point (x, y) against every side. Same result as contains().
+	private boolean	containsLinear(double x, double y)
+	{
+		for (int i=0; i<n; i++)
+			if (nxy[2*i] * x + nxy[2*i+1] * y <= off[i])
+				return false;
+
+		return true;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,154 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Runs the homework04 simulation without a window or GL context, as fast as
+// the CPU allows, and prints how long it took. Usage:
+//
+//   hw04headless [sides [updates [objects [factor [parallel]]]]]
+//   hw04headless check
+//
+// where sides is 2 (special) to Simulation.MAX_SIDES, parallel is true or
+// false, and the rest are positive numbers. Defaults are 2, 600, 1, 1.0, and
+// false. Every REPORT updates, a progress line is printed. Arguments that
+// don't parse or are out of range print what's wrong and the usage, and exit
+// with status 1.
+//
+// The check form runs ReflectorCheck instead, which compares fast-forwarding
+// with plain stepping, and exits with status 1 if they disagree.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Headless</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class Headless
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		REPORT = 1 << 16;		// Updates per line
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		if ((args.length == 1) && "check".equalsIgnoreCase(args[0]))
+			System.exit(ReflectorCheck.run() ? 0 : 1);
+
+		int		sides = 2;
+		long		updates = 600;
+		int		count = 1;
+		double		factor = 1.0;
+		boolean	parallel = false;
+
+		try
+		{
+			if (args.length > 0)
+				sides = Integer.parseInt(args[0]);
+
+			if (args.length > 1)
+				updates = Long.parseLong(args[1]);
+
+			if (args.length > 2)
+				count = Integer.parseInt(args[2]);
+
+			if (args.length > 3)
+				factor = Double.parseDouble(args[3]);
+
+			if (args.length > 4)
+			{
+				if (!"true".equalsIgnoreCase(args[4]) &&
+					!"false".equalsIgnoreCase(args[4]))
+					usage("parallel must be true or false");
+
+				parallel = Boolean.parseBoolean(args[4]);
+			}
+		}
+		catch (NumberFormatException ex)
+		{
+			usage("not a number: " + ex.getMessage());
+		}
+
+		// Same ranges as the View and Model allow
+		if ((sides != 2) && ((sides < Simulation.MIN_SIDES) ||
+							 (sides > Simulation.MAX_SIDES)))
+			usage("sides must be 2 or " + Simulation.MIN_SIDES + " to " +
+				  Simulation.MAX_SIDES);
+
+		if (updates < 1)
+			usage("updates must be positive");
+
+		if ((count < Simulation.MIN_OBJECTS) ||
+			(count > Simulation.MAX_OBJECTS))
+			usage("objects must be " + Simulation.MIN_OBJECTS + " to " +
+				  Simulation.MAX_OBJECTS);
+
+		if (!(factor > 0.0) || Double.isInfinite(factor))
+			usage("factor must be positive");
+
+		Simulation	simulation = new Simulation(count);
+
+		simulation.setNumber(sides);
+		simulation.setFactor(factor);
+		simulation.setParallel(parallel);
+
+		long	bounces = 0;
+		long	start = System.nanoTime();
+
+		for (long i=1; i<=updates; i++)
+		{
+			bounces += simulation.step();
+
+			if (i % REPORT == 0)
+				System.out.println(i + " updates, " + bounces + " bounces");
+		}
+
+		double	seconds = (System.nanoTime() - start) * 1.0e-9;
+
+		System.out.println("Sides:     " + sides);
+		System.out.println("Objects:   " + count);
+		System.out.println("Factor:    " + factor);
+		System.out.println("Parallel:  " + parallel);
+		System.out.println("Updates:   " + updates);
+		System.out.println("Bounces:   " + bounces);
+		System.out.println("Seconds:   " + seconds);
+		System.out.println("Updates/s: " + (updates / seconds));
+		System.out.println("Objects/s: " + (updates * (double)count / seconds));
+		System.out.println("Object 0:  (" + simulation.getObjectX() + ", " +
+						   simulation.getObjectY() + ")");
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Prints what's wrong with the arguments and how to use them, then exits.
+	private static void	usage(String problem)
+	{
+		System.err.println("hw04headless: " + problem);
+		System.err.println("Usage: hw04headless [sides [updates " +
+						   "[objects [factor [parallel]]]]]");
+		System.err.println("       hw04headless check");
+		System.exit(1);
+	}
+}
+
+//******************************************************************************
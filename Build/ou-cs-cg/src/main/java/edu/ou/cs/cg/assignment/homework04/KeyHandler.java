@@ -39,7 +39,6 @@ public final class KeyHandler extends KeyAdapter
 	// State (internal) variables
 	private final View		view;
 	private final Model	model;
-	private int sides;
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -61,38 +60,53 @@ public final class KeyHandler extends KeyAdapter
 
 	public void	keyPressed(KeyEvent e)
 	{
-		boolean	b = Utilities.isShiftDown(e);
-		int		number = model.getNumber();
-		double		factor = model.getFactor();
+		boolean		b = Utilities.isShiftDown(e);
+		Model.State	state = model.getState();		// One consistent snapshot
+		int			sides = state.getNumber();
+		double			factor = state.getFactor();
 
 		switch (e.getKeyCode())
 		{
 			case KeyEvent.VK_C:	// Move object to center
-				model.getObject().setLocation(0,0);
+				model.setObjectInSceneCoordinates(new Point2D.Double(0, 0));
 				return;
 
 			case KeyEvent.VK_Q:	// Decrement sides, in [2, MAX], 2=special
-				sides = model.getNumber();
-				if(sides != 2) model.setNumber(sides-1);
+				if(b) model.setNumber(sides/2);	// Halve if shift down
+				else if(sides != 2) model.setNumber(sides-1);
 				break;
 
 			case KeyEvent.VK_W:	// Increment sides, in [2, MAX], 2=special
-				sides = model.getNumber();
-				if(sides < view.getMaxSides()) model.incNumber();
+				if(b) model.setNumber(sides*2);	// Double if shift down
+				else if(sides < view.getMaxSides()) model.incNumber();
 				//System.out.println("Incrementing to: " + model.getNumber());
 				break;
 
 			case KeyEvent.VK_A:	// Decrease speed by 1.1x, 2x if shift down
-				factor = model.getFactor();
 				if(Utilities.isShiftDown(e)) model.setFactor(factor/2);
 				else	model.setFactor(factor/1.1);
 				break;
 
 			case KeyEvent.VK_S:	// Increase speed by 1.1x, 2x if shift down
-			factor = model.getFactor();
 			if(Utilities.isShiftDown(e)) model.setFactor(factor*2);
 			else	model.setFactor(factor*1.1);
 			break;
+
+			case KeyEvent.VK_Z:	// Decrease objects by 10x, 2x if shift down
+				model.setCount(state.getCount() / (b ? 2 : 10));
+				break;
+
+			case KeyEvent.VK_X:	// Increase objects by 10x, 2x if shift down
+				model.setCount(state.getCount() * (b ? 2 : 10));
+				break;
+
+			case KeyEvent.VK_F:	// Fast-forward object a million updates
+				model.fastForwardObject(1000000L);
+				break;
+
+			case KeyEvent.VK_P:	// Toggle stepping objects on all cores
+				model.toggleParallel();
+				break;
 		}
 	}
 }
@@ -21,10 +21,15 @@
 //   4. Add a method to modify (setFoo) the variable.
 //
 // Concurrency management is important because the JOGL and the Java AWT run on
-// different threads. The modify methods use the GLAutoDrawable.invoke() method
-// so that all changes to variables take place on the JOGL thread. Because this
-// happens at the END of GLEventListener.display(), all changes will be visible
-// to the View.update() and render() methods in the next animation cycle.
+// different threads. The modify methods put updates on an UpdateQueue so that
+// all changes to variables take place on the JOGL thread. Because the View
+// applies them at the START of GLEventListener.display(), all changes will be
+// visible to the View.update() and render() methods in the same cycle. Cursor
+// updates are coalesced, so only the latest position per frame is mapped.
+//
+// After applying updates, the model publishes an immutable State snapshot of
+// its variables. The View draws from the snapshot, which reads the same all
+// frame long and doesn't allocate, and any thread can read it safely.
 //
 //******************************************************************************
 
@@ -35,7 +40,7 @@ import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.util.*;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.UpdateQueue;
 
 //******************************************************************************
 
@@ -53,12 +58,19 @@ public final class Model
 
 	// State (internal) variables
 	private final View					view;
+	private final UpdateQueue				updates;	// To the OpenGL thread
+	private final UpdateQueue.Slot<Point>	cursorSlot;	// Coalesced
 
 	// Model variables
 	private Point2D.Double				cursor;	// Current cursor coords
 	private Point2D.Double				object;	// Current object coords
 	private int						number;	// Region #sides, 2=special
 	private double						factor;	// Speed multiplier
+	private int						count;	// Number of moving objects
+	private boolean					parallel;	// Step objects on all cores?
+
+	// Snapshot of the model variables, for reading from any thread
+	private volatile State				state;
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -68,17 +80,35 @@ public final class Model
 	{
 		this.view = view;
 
+		// Initialize updates (applied by the View on the OpenGL thread)
+		updates = new UpdateQueue();
+		cursorSlot = updates.createSlot(new UpdateQueue.Handler<Point>() {
+			public void	update(GL2 gl, Point q) {
+				cursor = ((q == null) ? null : mapViewToScene(q));
+			}
+		});
+
 		// Initialize user-adjustable variables (with reasonable default values)
 		object = new Point2D.Double(0.0, 0.0);
 		cursor = null;
 		number = 2;
 		factor = 1.0;
+		count = 1;
+		parallel = false;
+
+		state = new State(this);
 	}
 
 	//**********************************************************************
 	// Public Methods (Access Variables)
 	//**********************************************************************
 
+	// The latest published snapshot of all of the variables.
+	public State	getState()
+	{
+		return state;
+	}
+
 	public Point2D.Double	getCursor()
 	{
 		if (cursor == null)
@@ -102,8 +132,22 @@ public final class Model
 		return factor;
 	}
 
+	public int	getCount()
+	{
+		return count;
+	}
+
+	public boolean	getParallel()
+	{
+		return parallel;
+	}
+
 	public void incNumber() {
-		number++;
+		updates.invoke(new BasicUpdater() {
+			public void	update(GL2 gl) {
+				number++;
+			}
+		});;
 	}
 	//**********************************************************************
 	// Public Methods (Modify Variables)
@@ -111,44 +155,25 @@ public final class Model
 
 	public void	setCursorInViewCoordinates(Point q)
 	{
-		if (q == null)
-		{
-			view.getCanvas().invoke(false, new BasicUpdater() {
-					public void	update(GL2 gl) {
-						cursor = null;
-					}
-				});;
-		}
-		else
-		{
-			view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-					public void	update(double[] p) {
-						cursor = new Point2D.Double(p[0], p[1]);
-					}
-				});;
-		}
+		updates.set(cursorSlot, q);
 	}
 
 	public void	setObjectInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		updates.invoke(new ViewPointUpdater(q) {
 			public void	update(double[] p) {
-				Point2D.Double	r = new Point2D.Double(p[0], p[1]);
-
-				if (view.currentPolygonContains(r))
-					object = r;
+				if (view.currentPolygonContains(p[0], p[1]))
+					object = new Point2D.Double(p[0], p[1]);
 			}
 		});;
 	}
 
 	public void	setObjectInSceneCoordinates(Point2D.Double q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
-				Point2D.Double	p = new Point2D.Double(q.x, q.y);
-
-				if (view.currentPolygonContains(p))
-					object = p;
+				if (view.currentPolygonContains(q.x, q.y))
+					object = new Point2D.Double(q.x, q.y);
 			}
 		});;
 	}
@@ -157,39 +182,175 @@ public final class Model
 	// avoids scheduling a Runnable on the OpenGL thread. Doing it this way is
 	// necessary to allow setObjectInViewCoordinates calls to work from other
 	// threads, specifically the MouseHandler running on the Swing event thread.
-	public void	setObjectInSceneCoordinatesAlt(Point2D.Double q)
+	// Publishes a new State only if the object moved.
+	public void	setObjectInSceneCoordinatesAlt(double x, double y)
 	{
-		Point2D.Double	p = new Point2D.Double(q.x, q.y);
+		if ((x == object.x) && (y == object.y))
+			return;
 
-		if (view.currentPolygonContains(p))
-			object = p;
+		if (view.currentPolygonContains(x, y))
+		{
+			object.setLocation(x, y);
+			state = new State(this);
+		}
 	}
 
 	public void	setNumber(int v)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				object = new Point2D.Double(0.0, 0.0);
 				number = Math.min(Math.max(v, 2), View.MAX_SIDES);
 
 				view.clearAllTrace();
+				view.resetObjects();
 			}
 		});;
 	}
 
 	public void	setFactor(double v)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		updates.invoke(new BasicUpdater() {
 			public void	update(GL2 gl) {
 				factor = v;
 			}
 		});;
 	}
 
+	public void	setCount(int v)
+	{
+		updates.invoke(new BasicUpdater() {
+			public void	update(GL2 gl) {
+				count = Math.min(Math.max(v, View.MIN_OBJECTS),
+								 View.MAX_OBJECTS);
+			}
+		});;
+	}
+
+	public void	fastForwardObject(long steps)
+	{
+		updates.invoke(new BasicUpdater() {
+			public void	update(GL2 gl) {
+				Point2D.Double	p = new Point2D.Double(object.x, object.y);
+
+				view.fastForwardObject(p, steps);
+				object = p;
+			}
+		});;
+	}
+
+	public void	toggleParallel()
+	{
+		updates.invoke(new BasicUpdater() {
+			public void	update(GL2 gl) {
+				parallel = !parallel;
+			}
+		});;
+	}
+
+	//**********************************************************************
+	// Public Methods (Apply Updates)
+	//**********************************************************************
+
+	// Special method for privileged use by the View class ONLY. Applies all
+	// updates made since the last call, in order, then publishes a new State
+	// if anything changed. Call on the OpenGL thread, after the View has
+	// loaded the matrices that input maps through.
+	public void	applyUpdates(GLAutoDrawable drawable)
+	{
+		if (updates.drain(drawable) > 0)
+			state = new State(this);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Maps a point in view coordinates (integers/pixels) to the scene.
+	private Point2D.Double	mapViewToScene(Point q)
+	{
+		int		h = view.getHeight();
+		double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y, 0.0);
+
+		return new Point2D.Double(p[0], p[1]);
+	}
+
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
 
+	// An immutable copy of the model variables at one moment.
+	public static final class State
+	{
+		private final boolean		cursor;		// Is there a cursor?
+		private final double		cursorX;
+		private final double		cursorY;
+		private final double		objectX;
+		private final double		objectY;
+		private final int			number;
+		private final double		factor;
+		private final int			count;
+		private final boolean		parallel;
+
+		private State(Model model)
+		{
+			cursor = (model.cursor != null);
+			cursorX = (cursor ? model.cursor.x : 0.0);
+			cursorY = (cursor ? model.cursor.y : 0.0);
+			objectX = model.object.x;
+			objectY = model.object.y;
+			number = model.number;
+			factor = model.factor;
+			count = model.count;
+			parallel = model.parallel;
+		}
+
+		public boolean	hasCursor()
+		{
+			return cursor;
+		}
+
+		public double	getCursorX()
+		{
+			return cursorX;
+		}
+
+		public double	getCursorY()
+		{
+			return cursorY;
+		}
+
+		public double	getObjectX()
+		{
+			return objectX;
+		}
+
+		public double	getObjectY()
+		{
+			return objectY;
+		}
+
+		public int	getNumber()
+		{
+			return number;
+		}
+
+		public double	getFactor()
+		{
+			return factor;
+		}
+
+		public int	getCount()
+		{
+			return count;
+		}
+
+		public boolean	getParallel()
+		{
+			return parallel;
+		}
+	}
+
 	// Convenience class to simplify the implementation of most updaters.
 	private abstract class BasicUpdater implements GLRunnable
 	{
@@ -219,7 +380,8 @@ public final class Model
 		public final void	update(GL2 gl)
 		{
 			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			double[]	p = view.getTransform().mapViewToScene(q.x, h - q.y,
+																 0.0);
 
 			update(p);
 		}
@@ -0,0 +1,300 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Stores the moving objects as a struct of arrays: one primitive array each
+// for x, y, and the x and y components of the direction vector. The direction
+// vector has a magnitude equal to the default distance moved per update (at
+// speed factor 1.0). Arrays grow as needed but never shrink, so changing the
+// object count back and forth doesn't allocate after the first time.
+//
+// Each object's update reads and writes only its own array slots, so steps can
+// be split into chunks and run on a ForkJoinPool. Positions and directions
+// come out bit-for-bit the same as a serial step, however the objects are
+// split. Serial steps reuse one Reflector. Each parallel task makes its own,
+// since a Reflector holds the state of the object it's moving.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//import java.lang.*;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Particles</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class Particles
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Spreads the directions of successive objects evenly around the circle
+	private static final double	GOLDEN_ANGLE = Math.PI * (3.0 - Math.sqrt(5.0));
+
+	// Fewest objects per task for parallel steps
+	private static final int		MIN_CHUNK = 4096;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		distance;	// Default distance per update
+	private final double		angle;		// Direction of the first object
+
+	private int				count;		// Number of objects in use
+	private double[]			x;			// Positions
+	private double[]			y;
+	private double[]			dx;			// Directions
+	private double[]			dy;
+
+	private Reflector			stepper;	// For serial steps
+	private Reflector			skipper;	// For skip(), keeps its history
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Particles(int count, double distance, double angle)
+	{
+		this.distance = distance;
+		this.angle = angle;
+
+		x = new double[0];
+		y = new double[0];
+		dx = new double[0];
+		dy = new double[0];
+
+		setCount(count);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getCount()
+	{
+		return count;
+	}
+
+	// Changes the number of objects. New objects start at the origin.
+	public void	setCount(int v)
+	{
+		if (v > x.length)
+		{
+			int	capacity = Math.max(v, 2 * x.length);
+
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			dx = Arrays.copyOf(dx, capacity);
+			dy = Arrays.copyOf(dy, capacity);
+		}
+
+		for (int i=count; i<v; i++)
+			seed(i, 0.0, 0.0);
+
+		count = v;
+	}
+
+	public double	getX(int i)
+	{
+		return x[i];
+	}
+
+	public double	getY(int i)
+	{
+		return y[i];
+	}
+
+	public double	getDirectionX(int i)
+	{
+		return dx[i];
+	}
+
+	public double	getDirectionY(int i)
+	{
+		return dy[i];
+	}
+
+	public void	setPosition(int i, double px, double py)
+	{
+		x[i] = px;
+		y[i] = py;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Moves every object back to (px, py) with its original direction.
+	public void	reset(double px, double py)
+	{
+		for (int i=0; i<count; i++)
+			seed(i, px, py);
+	}
+
+	// Advances all objects by one update inside the polygon. Returns the
+	// total number of bounces.
+	public long	step(ConvexPolygon polygon, double factor)
+	{
+		return step(polygon, factor, 0, count);
+	}
+
+	// Advances objects lo (inclusive) to hi (exclusive) by one update inside
+	// the polygon. Each object's arithmetic is independent of the others.
+	// Returns the total number of bounces.
+	public long	step(ConvexPolygon polygon, double factor, int lo, int hi)
+	{
+		return step(polygon, factor, lo, hi, (TraceBuffer)null);
+	}
+
+	// Same as above, but also adds every bounce point to hits, if not null.
+	public long	step(ConvexPolygon polygon, double factor, int lo, int hi,
+					 TraceBuffer hits)
+	{
+		if (stepper == null)
+			stepper = new Reflector(polygon);
+		else
+			stepper.setPolygon(polygon);
+
+		stepper.setHits(hits);
+
+		long	bounces = step(stepper, factor, lo, hi);
+
+		stepper.setHits(null);
+
+		return bounces;
+	}
+
+	// Same as above, but splits the objects into chunks that run in parallel
+	// on the pool. Ranges too small to be worth splitting run on the caller.
+	public long	step(ConvexPolygon polygon, double factor, int lo, int hi,
+					 ForkJoinPool pool)
+	{
+		int	grain = Math.max(MIN_CHUNK,
+							 (hi - lo) / (4 * pool.getParallelism()));
+
+		if (hi - lo <= grain)
+			return step(polygon, factor, lo, hi);
+
+		return pool.invoke(new StepTask(this, polygon, factor, lo, hi, grain));
+	}
+
+	// Advances object i as if stepped the given number of times, jumping
+	// over whole cycles once its trajectory becomes periodic. Returns the
+	// number of bounces.
+	public long	skip(ConvexPolygon polygon, double factor, long steps, int i)
+	{
+		if (skipper == null)
+			skipper = new Reflector(polygon);
+		else
+			skipper.setPolygon(polygon);
+
+		skipper.set(x[i], y[i], dx[i], dy[i]);
+
+		long	bounces = skipper.skip(factor, steps);
+
+		x[i] = skipper.getX();
+		y[i] = skipper.getY();
+		dx[i] = skipper.getDirectionX();
+		dy[i] = skipper.getDirectionY();
+
+		return bounces;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Advances objects lo (inclusive) to hi (exclusive) with the reflector,
+	// which is set up for the polygon. Returns the total number of bounces.
+	private long	step(Reflector reflector, double factor, int lo, int hi)
+	{
+		long	bounces = 0;
+
+		for (int i=lo; i<hi; i++)
+		{
+			reflector.set(x[i], y[i], dx[i], dy[i]);
+			bounces += reflector.advance(factor);
+
+			x[i] = reflector.getX();
+			y[i] = reflector.getY();
+			dx[i] = reflector.getDirectionX();
+			dy[i] = reflector.getDirectionY();
+		}
+
+		return bounces;
+	}
+
+	private void	seed(int i, double px, double py)
+	{
+		double	theta = angle + i * GOLDEN_ANGLE;
+
+		x[i] = px;
+		y[i] = py;
+		dx[i] = distance * Math.cos(theta);
+		dy[i] = distance * Math.sin(theta);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Steps a range of objects, splitting it in half until it's small enough,
+	// then stepping it with a Reflector of its own.
+	private static final class StepTask extends RecursiveTask<Long>
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final Particles		particles;
+		private final ConvexPolygon	polygon;
+		private final double			factor;
+		private final int				lo;
+		private final int				hi;
+		private final int				grain;
+
+		public StepTask(Particles particles, ConvexPolygon polygon,
+						double factor, int lo, int hi, int grain)
+		{
+			this.particles = particles;
+			this.polygon = polygon;
+			this.factor = factor;
+			this.lo = lo;
+			this.hi = hi;
+			this.grain = grain;
+		}
+
+		protected Long	compute()
+		{
+			if (hi - lo <= grain)
+				return particles.step(new Reflector(polygon), factor, lo, hi);
+
+			int			mid = (lo + hi) >>> 1;
+			StepTask	left = new StepTask(particles, polygon, factor, lo, mid,
+											grain);
+			StepTask	right = new StepTask(particles, polygon, factor, mid, hi,
+											 grain);
+
+			left.fork();
+
+			long	r = right.compute();
+
+			return left.join() + r;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,144 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A bounded cache of regular polygons keyed by side count and radius. Polygons
+// are built the first time they're asked for. The cache keeps them in least
+// recently used order and evicts the oldest while the total number of sides
+// held exceeds the budget. The newest polygon is always kept, even if it alone
+// exceeds the budget.
+//
+// Not thread-safe. The View only uses it on the GL thread.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//import java.lang.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolygonCache</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class PolygonCache
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int							budget;	// Max total sides
+	private final LinkedHashMap<Key, ConvexPolygon>	map;
+	private int								total;	// Total sides held
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PolygonCache(int budget)
+	{
+		this.budget = budget;
+
+		map = new LinkedHashMap<Key, ConvexPolygon>(16, 0.75f, true);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getBudget()
+	{
+		return budget;
+	}
+
+	public int	getSize()
+	{
+		return map.size();
+	}
+
+	// The total number of sides over all the polygons held.
+	public int	getTotalSides()
+	{
+		return total;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Gets the regular polygon with the given side count and radius, as made
+	// by ConvexPolygon.createRegular(), building it if it isn't cached.
+	public ConvexPolygon	get(int sides, double radius)
+	{
+		Key			key = new Key(sides, radius);
+		ConvexPolygon	polygon = map.get(key);
+
+		if (polygon != null)
+			return polygon;
+
+		polygon = ConvexPolygon.createRegular(sides, radius);
+		map.put(key, polygon);
+		total += sides;
+
+		// Evict least recently used polygons, oldest first, but not this one
+		Iterator<ConvexPolygon>	it = map.values().iterator();
+
+		while ((total > budget) && (map.size() > 1))
+		{
+			total -= it.next().getSides();
+			it.remove();
+		}
+
+		return polygon;
+	}
+
+	public void	clear()
+	{
+		map.clear();
+		total = 0;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	private static final class Key
+	{
+		private final int		sides;
+		private final double	radius;
+
+		public Key(int sides, double radius)
+		{
+			this.sides = sides;
+			this.radius = radius;
+		}
+
+		public boolean	equals(Object o)
+		{
+			if (!(o instanceof Key))
+				return false;
+
+			Key	k = (Key)o;
+
+			return ((sides == k.sides) &&
+					(Double.compare(radius, k.radius) == 0));
+		}
+
+		public int	hashCode()
+		{
+			return 31 * sides + Double.hashCode(radius);
+		}
+	}
+}
+
+//******************************************************************************
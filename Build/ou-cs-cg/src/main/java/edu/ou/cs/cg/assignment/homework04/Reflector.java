@@ -0,0 +1,540 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Moves a point along a ray inside a convex polygon, bouncing off the sides,
+// until the whole distance for an update is used up. Each bounce intersects
+// the ray with every side using the precomputed unit inward normals:
+//
+//   distance to side j along unit direction u = dist_j(q) / -dot(n_j, u)
+//
+// Sides the ray is parallel to (within EPSILON) or moving away from can't be
+// reached and are skipped, as is the side just bounced off. A hit within
+// CORNER of a neighboring side is a corner hit, and reflects off both. After
+// each bounce the point is clamped back onto the inside of the side it hit, so
+// roundoff can't let it escape. Bounces per update are capped at MAX_BOUNCES
+// so that absurd speed factors can't stall a frame; any distance left over
+// at the cap is dropped.
+//
+// For long runs, skip() moves the point as if advance() were called once per
+// update, but jumps over cycles once the trajectory has entered a periodic
+// orbit, as happens often in regular N-gons. It steps with exactly the same
+// arithmetic as advance(), so until it jumps the results are identical. At
+// each bounce it hashes the side, position, and direction, quantized to
+// QUANTUM. A state within QUANTUM of one k bounces ago is only a candidate:
+// the k bounces just stepped are one full cycle, and the difference between
+// its start and end states is how far plain stepping would drift per cycle.
+// Jumping N cycles instead of stepping them is then off by at most about
+//
+//   N * (dq + du * L * (N + 1) / 2) + N * k * ulp(1) + 4 * ulp(T)
+//
+// for position and direction drifts dq and du, cycle length L, and distance
+// left T. Reflection is an isometry, so a perturbation that small follows the
+// same sides in the same order as long as it stays below the distance from
+// every bounce in the cycle to the nearest corner. skip() only jumps as many
+// cycles as keep the total bound within TOLERANCE and half that clearance.
+// Orbits that pass through or near corners, where tiny differences lead to a
+// different path, are never jumped, just stepped. Detection looks back at
+// most HISTORY bounces; trajectories that never repeat are stepped in full.
+//
+// The clearance of a cycle is first bounded by the running minimum over all
+// bounces recorded since the last jump, which costs nothing per candidate.
+// Only if that bound is too tight is the cycle itself scanned. A cycle that
+// still can't be jumped will come around again and again, so skip() stops
+// looking and just steps the rest of the call, at the cost of advance().
+//
+// A Reflector holds the state of one point at a time and is not thread-safe.
+// Use one per thread. The history buffers for skip() are allocated on first
+// use and reused by later calls.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Reflector</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class Reflector
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		MAX_BOUNCES = 1 << 16;	// Per update
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double	EPSILON = 1.0e-12;		// Parallel test
+	private static final double	CORNER = 1.0e-9;		// Corner test
+	private static final double	NUDGE = 1.0e-12;		// Inside a side
+
+	private static final double	QUANTUM = 1.0e-8;		// Cycle candidates
+	private static final double	TOLERANCE = 1.0e-6;		// Drift from stepping
+	private static final int		HISTORY = 1 << 16;		// Cycle lookback
+	private static final int		TABLE = 2 * HISTORY;	// Hash table size
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private double[]			nxy;	// Unit inward normals, interleaved
+	private double[]			off;	// Normal offsets
+	private int				sides;
+
+	private double				qx;		// Current position
+	private double				qy;
+	private double				ux;		// Current direction, unit length
+	private double				uy;
+	private double				speed;	// Distance per update at factor 1.0
+	private int				last;	// Last side bounced off, or -1
+	private int				bounced;	// Bounces in the last move()
+	private double				clearance;	// From its bounce to a corner
+
+	private TraceBuffer		hits;	// Where to add bounce points, or null
+
+	// History for skip(): the state at each recorded bounce, and an open
+	// addressed hash table of record indices, valid where stamp is current
+	private double[]			hs;		// x, y, ux, uy, distance, clearance
+	private int[]				hl;		// Last side
+	private long[]				hb;		// Bounces so far
+	private int[]				table;
+	private int[]				stamp;
+	private int				generation;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Reflector(ConvexPolygon polygon)
+	{
+		setPolygon(polygon);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public void	setPolygon(ConvexPolygon polygon)
+	{
+		nxy = polygon.getNormals();
+		off = polygon.getOffsets();
+		sides = polygon.getSides();
+		last = -1;
+	}
+
+	// Sets where to add the point's position whenever it bounces, or null.
+	public void	setHits(TraceBuffer v)
+	{
+		hits = v;
+	}
+
+	// Sets the position and direction. The direction's magnitude is the
+	// distance moved per update at speed factor 1.0.
+	public void	set(double x, double y, double dx, double dy)
+	{
+		qx = x;
+		qy = y;
+		speed = Math.sqrt(dx * dx + dy * dy);
+		ux = ((speed > 0.0) ? dx / speed : 0.0);
+		uy = ((speed > 0.0) ? dy / speed : 0.0);
+		last = -1;
+	}
+
+	public double	getX()
+	{
+		return qx;
+	}
+
+	public double	getY()
+	{
+		return qy;
+	}
+
+	public double	getDirectionX()
+	{
+		return ux * speed;
+	}
+
+	public double	getDirectionY()
+	{
+		return uy * speed;
+	}
+
+	// The side of the most recent bounce, or -1 if none since the last set.
+	public int	getLastSide()
+	{
+		return last;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Moves the point the direction's magnitude times the factor, bouncing as
+	// many times as needed. Returns the number of bounces.
+	public int	advance(double factor)
+	{
+		double	remaining = speed * factor;
+
+		if (!(remaining > 0.0))		// Also catches NaN
+			return 0;
+
+		int	bounces = 0;
+
+		while (true)
+		{
+			remaining -= move(remaining);
+
+			if (bounced == 0)
+				break;
+
+			bounces += bounced;
+
+			if (!(remaining > 0.0) || (bounces >= MAX_BOUNCES))
+				break;
+		}
+
+		normalize();
+
+		return bounces;
+	}
+
+	// Moves the point as if advance(factor) were called the given number of
+	// times, jumping over whole cycles of a periodic orbit only where that
+	// stays within TOLERANCE of stepping them. Returns the number of bounces,
+	// including those in skipped cycles.
+	public long	skip(double factor, long steps)
+	{
+		double	s = speed * factor;				// Distance per update
+
+		if (!(s > 0.0) || (steps <= 0))
+			return 0;
+
+		if (hs == null)
+		{
+			hs = new double[6 * HISTORY];
+			hl = new int[HISTORY];
+			hb = new long[HISTORY];
+			table = new int[TABLE];
+			stamp = new int[TABLE];
+		}
+
+		generation++;
+
+		int		n = 0;						// Records since last reset
+		long		bounces = 0;
+		double		error = 0.0;				// Bound on drift so far
+		double		limit = TOLERANCE;			// Bound on total drift
+		double		least = Double.POSITIVE_INFINITY;	// Clearance, records
+		boolean	looking = true;				// For cycles to jump
+
+		for (long done=0; done<steps; done++)
+		{
+			// Same as advance(factor), but looking for cycles at each bounce
+			double	remaining = speed * factor;
+			int	b = 0;
+
+			while (true)
+			{
+				remaining -= move(remaining);
+
+				if (bounced == 0)
+					break;
+
+				b += bounced;
+
+				if (!looking)					// Just step, as advance()
+				{
+					if (!(remaining > 0.0) || (b >= MAX_BOUNCES))
+						break;
+
+					continue;
+				}
+
+				double	traveled = done * s + (s - remaining);
+				int	k = find();
+
+				if (k >= 0)
+				{
+					double	T = remaining + (steps - done - 1) * s;
+					double	L = traveled - hs[6*k+4];
+					long	P = bounces + b - hb[k];
+					double	c = Math.min(least, clearance);
+					long	N = cycles(k, T, L, P, s, limit - error, c);
+
+					if (N == 0)					// Try the cycle's own
+					{
+						c = clearance(k, n);
+						N = cycles(k, T, L, P, s, limit - error, c);
+					}
+
+					if (N == 0)					// It will keep coming back
+					{
+						looking = false;
+
+						if (!(remaining > 0.0) || (b >= MAX_BOUNCES))
+							break;
+
+						continue;
+					}
+
+					// Jump N cycles, then pick up where stepping would be
+					// after the same distance
+					double	t = T - N * L;
+					long	f = (long)Math.floor(t / s);
+
+					bounces += N * P;
+					error += drift(k, N, T, L, P);
+					limit = Math.min(limit, 0.5 * c);
+					remaining = t - f * s;
+					done = steps - 1 - f;
+					traveled = done * s + (s - remaining);
+					generation++;
+					n = 0;
+					least = Double.POSITIVE_INFINITY;
+				}
+
+				if (n == HISTORY)				// Start looking afresh
+				{
+					generation++;
+					n = 0;
+					least = Double.POSITIVE_INFINITY;
+				}
+
+				record(n++, traveled, bounces + b);
+				least = Math.min(least, clearance);
+
+				if (!(remaining > 0.0) || (b >= MAX_BOUNCES))
+					break;
+			}
+
+			normalize();
+			bounces += b;
+		}
+
+		return bounces;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Moves the point along the ray to the first side it reaches, bouncing off
+	// it, or the whole limit if it reaches none. Returns the distance moved
+	// and leaves the number of bounces (0, 1, or 2 at a corner) in bounced.
+	private double	move(double limit)
+	{
+		// Find the side the ray reaches first, if within the limit
+		double	tmin = limit;
+		int	hit = -1;
+
+		for (int j=0; j<sides; j++)
+		{
+			if (j == last)
+				continue;
+
+			double	nx = nxy[2*j];
+			double	ny = nxy[2*j+1];
+			double	nu = nx * ux + ny * uy;
+
+			if (nu > -EPSILON)		// Parallel or moving away
+				continue;
+
+			// Roundoff may leave the point just outside; treat as on it
+			double	d = Math.max(0.0, nx * qx + ny * qy - off[j]);
+			double	t = d / -nu;
+
+			if (t < tmin)
+			{
+				tmin = t;
+				hit = j;
+			}
+		}
+
+		qx += tmin * ux;
+		qy += tmin * uy;
+		bounced = 0;
+
+		if (hit < 0)
+			return tmin;
+
+		// Reflect off the side that was hit...
+		double	nx = nxy[2*hit];
+		double	ny = nxy[2*hit+1];
+		double	nu = nx * ux + ny * uy;
+
+		ux -= 2.0 * nu * nx;
+		uy -= 2.0 * nu * ny;
+		clamp(hit);
+		last = hit;
+		bounced++;
+
+		// ...and off either neighboring side if the hit point is at the
+		// corner they share and the new direction still heads out through
+		// it. In a convex polygon only neighbors can share a corner.
+		clearance = Double.POSITIVE_INFINITY;
+
+		for (int k=-1; k<=1; k+=2)
+		{
+			int		j = (hit + k + sides) % sides;
+			double	mx = nxy[2*j];
+			double	my = nxy[2*j+1];
+			double	mu = mx * ux + my * uy;
+			double	e = mx * qx + my * qy - off[j];
+
+			clearance = Math.min(clearance, Math.abs(e));
+
+			if ((mu < 0.0) && (e < CORNER))
+			{
+				ux -= 2.0 * mu * mx;
+				uy -= 2.0 * mu * my;
+				clamp(j);
+				last = -1;		// Both sides are now behind the ray
+				bounced++;
+			}
+		}
+
+		if (hits != null)
+			hits.add(qx, qy);
+
+		return tmin;
+	}
+
+	// Keeps the direction from drifting off unit length over many bounces.
+	private void	normalize()
+	{
+		double	d = Math.sqrt(ux * ux + uy * uy);
+
+		if (d > 0.0)
+		{
+			ux /= d;
+			uy /= d;
+		}
+	}
+
+	// Hashes the side, position, and direction, quantized to QUANTUM.
+	private int	hash()
+	{
+		long	h = last;
+
+		h = 31 * h + Math.round(qx / QUANTUM);
+		h = 31 * h + Math.round(qy / QUANTUM);
+		h = 31 * h + Math.round(ux / QUANTUM);
+		h = 31 * h + Math.round(uy / QUANTUM);
+		h *= 0x9E3779B97F4A7C15L;
+
+		return (int)(h >>> 40) & (TABLE - 1);
+	}
+
+	// Returns a record within QUANTUM of the current state, or -1 if none.
+	private int	find()
+	{
+		for (int i=hash(); stamp[i] == generation; i=(i + 1) & (TABLE - 1))
+		{
+			int	k = table[i];
+
+			if ((last == hl[k]) &&
+				(Math.abs(qx - hs[6*k]) <= QUANTUM) &&
+				(Math.abs(qy - hs[6*k+1]) <= QUANTUM) &&
+				(Math.abs(ux - hs[6*k+2]) <= QUANTUM) &&
+				(Math.abs(uy - hs[6*k+3]) <= QUANTUM))
+				return k;
+		}
+
+		return -1;
+	}
+
+	// Records the current state, just after a bounce, as record n.
+	private void	record(int n, double traveled, long bounces)
+	{
+		hs[6*n] = qx;
+		hs[6*n+1] = qy;
+		hs[6*n+2] = ux;
+		hs[6*n+3] = uy;
+		hs[6*n+4] = traveled;
+		hs[6*n+5] = clearance;
+		hl[n] = last;
+		hb[n] = bounces;
+
+		int	i = hash();
+
+		while (stamp[i] == generation)
+			i = (i + 1) & (TABLE - 1);
+
+		stamp[i] = generation;
+		table[i] = n;
+	}
+
+	// Returns how many whole cycles, from record k to the current state, can
+	// be jumped with drift from stepping no more than the budget or half of
+	// clearance c, and without more than MAX_BOUNCES per update.
+	private long	cycles(int k, double T, double L, long P, double s,
+						   double budget, double c)
+	{
+		if (!(L > 0.0) || (P * s >= MAX_BOUNCES * L))
+			return 0;
+
+		long	N = (long)Math.floor(T / L);
+
+		while ((N > 0) && !(drift(k, N, T, L, P) <= budget))
+			N /= 2;
+
+		if ((N > 0) && (drift(k, N, T, L, P) > 0.5 * c))
+			N = 0;
+
+		return N;
+	}
+
+	// Bounds how far jumping N cycles, from record k to the current state,
+	// can be from stepping them. See the notes.
+	private double	drift(int k, long N, double T, double L, long P)
+	{
+		double	dq = Math.abs(qx - hs[6*k]) + Math.abs(qy - hs[6*k+1]);
+		double	du = Math.abs(ux - hs[6*k+2]) + Math.abs(uy - hs[6*k+3]);
+
+		return (N * (dq + du * L * (N + 1) * 0.5) +
+				N * P * Math.ulp(1.0) + 4.0 * Math.ulp(T));
+	}
+
+	// Returns the smallest distance to a corner at any bounce in the cycle
+	// from record k to the current state.
+	private double	clearance(int k, int n)
+	{
+		double	c = clearance;
+
+		for (int i=k+1; i<n; i++)
+			c = Math.min(c, hs[6*i+5]);
+
+		return c;
+	}
+
+	// Moves the point just inside side j if roundoff put it on or outside.
+	private void	clamp(int j)
+	{
+		double	nx = nxy[2*j];
+		double	ny = nxy[2*j+1];
+		double	d = nx * qx + ny * qy - off[j];
+
+		if (d < NUDGE)
+		{
+			qx += (NUDGE - d) * nx;
+			qy += (NUDGE - d) * ny;
+		}
+	}
+}
+
+//******************************************************************************
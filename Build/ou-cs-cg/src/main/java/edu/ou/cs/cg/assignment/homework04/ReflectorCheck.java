@@ -0,0 +1,226 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Checks that Reflector.skip() ends where stepping with advance() does, with
+// the same number of bounces, for orbits in regular N-gons that run into
+// corners, where approximate cycle jumping used to send the point down a
+// different path. Starts are at the center, aimed at corners and at multiples
+// of 15 degrees, and at seeded random points and angles. It also times a
+// corner orbit, whose cycles can never be jumped, to make sure that looking
+// for them doesn't make skip() much slower than stepping. Run it with
+//
+//   hw04headless check
+//
+// which prints each mismatch and exits with status 1 if there were any. It
+// needs nothing beyond the JDK, so it runs wherever the simulation does.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//import java.lang.*;
+import java.util.Random;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ReflectorCheck</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class ReflectorCheck
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double	DISTANCE = 0.01;		// Per update
+	private static final long		UPDATES = 100000;
+	private static final double	TOLERANCE = 1.0e-6;		// As in Reflector
+	private static final int		STARTS = 50;			// Random, per N-gon
+	private static final long		TIMED = 10000000;		// Corner orbit
+	private static final double	SLOWDOWN = 2.0;			// Most, vs stepping
+	private static final long		SLACK = 100;			// Milliseconds
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private int				checks;		// Comparisons made
+	private int				failures;	// Comparisons that didn't match
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Runs all of the checks, printing any mismatches and a summary. Returns
+	// true if everything matched.
+	public static boolean	run()
+	{
+		ReflectorCheck	check = new ReflectorCheck();
+
+		check.hexagonFromCenter();
+		check.cornersFromCenter();
+		check.randomStarts();
+		check.reuseAcrossCalls();
+		check.cornerOrbitTime();
+
+		System.out.println(check.checks + " checks, " + check.failures +
+						   " failed");
+
+		return (check.failures == 0);
+	}
+
+	//**********************************************************************
+	// Private Methods (Checks)
+	//**********************************************************************
+
+	// The hexagon orbit from the center heading right, which went through
+	// corners and skipped to 963 bounces instead of 826.
+	private void	hexagonFromCenter()
+	{
+		compare(6, 0.0, 0.0, 0.0);
+	}
+
+	private void	cornersFromCenter()
+	{
+		for (int n : new int[] { 3, 4, 5, 6, 8, 12 })
+		{
+			for (int i=0; i<2*n; i++)			// At corners and midsides
+				compare(n, 0.0, 0.0, i * Math.PI / n);
+
+			for (int i=0; i<24; i++)
+				compare(n, 0.0, 0.0, i * Math.PI / 12.0);
+		}
+	}
+
+	private void	randomStarts()
+	{
+		Random	random = new Random(5L);
+
+		for (int n : new int[] { 5, 6, 8, 12 })
+			for (int i=0; i<STARTS; i++)
+				compare(n, 0.5 * (random.nextDouble() - 0.5),
+						0.5 * (random.nextDouble() - 0.5),
+						2.0 * Math.PI * random.nextDouble());
+	}
+
+	// One Reflector skipping several times in a row, reusing its history.
+	private void	reuseAcrossCalls()
+	{
+		ConvexPolygon	polygon = createPolygon(8);
+		Reflector		skipper = new Reflector(polygon);
+		Reflector		stepper = new Reflector(polygon);
+
+		skipper.set(0.1, 0.0, 0.0, DISTANCE);
+		stepper.set(0.1, 0.0, 0.0, DISTANCE);
+
+		for (int k=0; k<3; k++)
+			compare("8-gon, call " + k, skipper, stepper);
+	}
+
+	// The square from the center heading right bounces straight through
+	// corners, so skip() can only step it. It used to keep recording the same
+	// rejected cycle, which took five times as long as stepping.
+	private void	cornerOrbitTime()
+	{
+		ConvexPolygon	polygon = createPolygon(4);
+		Reflector		skipper = new Reflector(polygon);
+		Reflector		stepper = new Reflector(polygon);
+
+		skipper.set(0.0, 0.0, DISTANCE, 0.0);
+		stepper.set(0.0, 0.0, DISTANCE, 0.0);
+
+		long	start = System.nanoTime();
+
+		skipper.skip(1.0, TIMED);
+
+		long	skipped = (System.nanoTime() - start) / 1000000;
+
+		start = System.nanoTime();
+
+		for (long i=0; i<TIMED; i++)
+			stepper.advance(1.0);
+
+		long	stepped = (System.nanoTime() - start) / 1000000;
+
+		checks++;
+		System.out.println("4-gon corner orbit, " + TIMED + " updates: " +
+						   skipped + " ms skipped, " + stepped +
+						   " ms stepped");
+
+		if (skipped > SLOWDOWN * stepped + SLACK)
+		{
+			failures++;
+			System.out.println("Too slow, 4-gon corner orbit");
+		}
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Same polygons as Simulation, for 3 sides and up.
+	private static ConvexPolygon	createPolygon(int sides)
+	{
+		double	r = ((sides == 3) ? 0.50 : 0.70);
+
+		return ConvexPolygon.createRegular(sides,
+										   r / Math.cos(Math.PI / sides));
+	}
+
+	private void	compare(int sides, double x, double y, double theta)
+	{
+		ConvexPolygon	polygon = createPolygon(sides);
+		Reflector		skipper = new Reflector(polygon);
+		Reflector		stepper = new Reflector(polygon);
+		double			dx = DISTANCE * Math.cos(theta);
+		double			dy = DISTANCE * Math.sin(theta);
+
+		skipper.set(x, y, dx, dy);
+		stepper.set(x, y, dx, dy);
+
+		compare(sides + "-gon from (" + x + ", " + y + ") at " + theta,
+				skipper, stepper);
+	}
+
+	// Skips one reflector and steps the other UPDATES times, then compares.
+	private void	compare(String where, Reflector skipper, Reflector stepper)
+	{
+		long	skipped = skipper.skip(1.0, UPDATES);
+		long	stepped = 0;
+
+		for (long i=0; i<UPDATES; i++)
+			stepped += stepper.advance(1.0);
+
+		checks++;
+
+		if ((skipped != stepped) ||
+			!near(skipper.getX(), stepper.getX()) ||
+			!near(skipper.getY(), stepper.getY()) ||
+			!near(skipper.getDirectionX(), stepper.getDirectionX()) ||
+			!near(skipper.getDirectionY(), stepper.getDirectionY()))
+		{
+			failures++;
+			System.out.println("Mismatch, " + where + ": skipped " +
+							   skipped + " bounces to (" + skipper.getX() +
+							   ", " + skipper.getY() + "), stepped " +
+							   stepped + " to (" + stepper.getX() + ", " +
+							   stepper.getY() + ")");
+		}
+	}
+
+	private static boolean	near(double a, double b)
+	{
+		return (Math.abs(a - b) <= TOLERANCE);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,314 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The reflection simulation without any rendering: the container polygons,
+// the moving objects, and the trail and bounce points of object 0 (the model's
+// object). It uses no GL or AWT classes, so it runs headless. The View drives
+// it once per frame; the Headless runner drives it as fast as it can.
+//
+// Time advances by 1/UPDATES_PER_SECOND per step, however fast steps really
+// run, so trails cover the same number of steps either way.
+//
+// Not thread-safe. Call it from one thread (the GL thread, in the View).
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//import java.lang.*;
+import java.util.concurrent.ForkJoinPool;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Simulation</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class Simulation
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int			UPDATES_PER_SECOND = 60;
+
+	public static final int			MIN_SIDES = 3;
+	public static final int			MAX_SIDES = 1 << 16;
+
+	public static final int			MIN_OBJECTS = 1;
+	public static final int			MAX_OBJECTS = 1000000;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double		DEFAULT_DISTANCE = 0.01;	// Per update
+	private static final double		DEFAULT_ANGLE = 1.0;		// Radians
+
+	private static final double		TRACE_WINDOW = 1.0;			// Seconds
+	private static final int			TRACE_CAPACITY = 4096;		// Points
+
+	private static final int			CACHE_SIDES = 1 << 18;		// Total, cached
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final ConvexPolygon		special;
+	private final PolygonCache			regions;
+	private ConvexPolygon				region;		// Last from regions
+	private int						regionSides;	// Its sides, 0=none
+
+	// Moving objects. Object 0 is the model's object; its direction is the
+	// reference vector.
+	private final Particles			particles;
+
+	// Tracer and Bounces, for the model's object
+	private final TraceBuffer			traces;
+	private final TraceBuffer			bounces;
+
+	// Simulation variables
+	private int						number;		// Region #sides, 2=special
+	private double						factor;		// Speed multiplier
+	private boolean					parallel;	// Step objects on all cores?
+	private long						steps;		// Updates so far
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Simulation(int count)
+	{
+		// Initialize container polygons
+		special = createSpecialPolygon();					// For N = 2
+		regions = new PolygonCache(CACHE_SIDES);			// For MIN to MAX
+
+		// Initialize moving objects (and the reference vector with them)
+		particles = new Particles(count, DEFAULT_DISTANCE, DEFAULT_ANGLE);
+
+		// Initialize tracer and bounces
+		traces = new TraceBuffer(TRACE_CAPACITY, TRACE_WINDOW);
+		bounces = new TraceBuffer(TRACE_CAPACITY, TRACE_WINDOW);
+
+		number = 2;
+		factor = 1.0;
+		parallel = false;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getNumber()
+	{
+		return number;
+	}
+
+	public void	setNumber(int v)
+	{
+		number = v;
+	}
+
+	public double	getFactor()
+	{
+		return factor;
+	}
+
+	public void	setFactor(double v)
+	{
+		factor = v;
+	}
+
+	public int	getCount()
+	{
+		return particles.getCount();
+	}
+
+	public void	setCount(int v)
+	{
+		particles.setCount(v);
+	}
+
+	public boolean	getParallel()
+	{
+		return parallel;
+	}
+
+	public void	setParallel(boolean v)
+	{
+		parallel = v;
+	}
+
+	public long	getSteps()
+	{
+		return steps;
+	}
+
+	public Particles	getParticles()
+	{
+		return particles;
+	}
+
+	public TraceBuffer	getTraces()
+	{
+		return traces;
+	}
+
+	public TraceBuffer	getBounces()
+	{
+		return bounces;
+	}
+
+	public double	getObjectX()
+	{
+		return particles.getX(0);
+	}
+
+	public double	getObjectY()
+	{
+		return particles.getY(0);
+	}
+
+	public void	setObject(double x, double y)
+	{
+		particles.setPosition(0, x, y);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Get the polygon that is currently containing the moving objects.
+	public ConvexPolygon	getCurrentPolygon()
+	{
+		return getPolygon(number);
+	}
+
+	// Gets the polygon with the given number of sides, 2 for the special one.
+	// Returns null for numbers out of range.
+	public ConvexPolygon	getPolygon(int sides)
+	{
+		if (sides == 2)
+			return special;
+		else if ((MIN_SIDES <= sides) && (sides <= MAX_SIDES))
+			return getRegularPolygon(sides);
+		else
+			return null;
+	}
+
+	// Determines if point (x, y) is inside the current polygon. Points
+	// exactly on any side of the polygon are considered to be outside of it.
+	public boolean	contains(double x, double y)
+	{
+		return getCurrentPolygon().contains(x, y);
+	}
+
+	// Remove all trajectory and bounce points.
+	public void	clearAllTrace()
+	{
+		traces.clear();
+		bounces.clear();
+	}
+
+	// Move all of the moving objects back to the origin.
+	public void	resetObjects()
+	{
+		particles.reset(0.0, 0.0);
+	}
+
+	// Moves every object one update inside the current polygon, and trails
+	// object 0. Returns the total number of bounces.
+	public long	step()
+	{
+		ConvexPolygon	polygon = getCurrentPolygon();
+
+		steps++;
+
+		// Remove old (>1 second) trajectory and bounce points
+		double		now = steps / (double)UPDATES_PER_SECOND;
+
+		traces.setTime(now);
+		bounces.setTime(now);
+
+		// Trace from where the object starts, through where it bounces
+		traces.add(particles.getX(0), particles.getY(0));
+
+		long	n = particles.step(polygon, factor, 0, 1, bounces);
+		int	k = (int)Math.min(n, bounces.getSize());
+
+		for (int i=bounces.getSize()-k; i<bounces.getSize(); i++)
+			traces.add(bounces.getX(i), bounces.getY(i));
+
+		// Move the rest of the objects the same way, on all cores if asked
+		int	count = particles.getCount();
+
+		if (parallel)
+			n += particles.step(polygon, factor, 1, count,
+								ForkJoinPool.commonPool());
+		else
+			n += particles.step(polygon, factor, 1, count);
+
+		return n;
+	}
+
+	// Moves object 0 as if step() were called the given number of times,
+	// jumping over whole cycles of periodic trajectories. Returns the number
+	// of bounces.
+	public long	fastForwardObject(long updates)
+	{
+		return particles.skip(getCurrentPolygon(), factor, updates, 0);
+	}
+
+	//**********************************************************************
+	// Private Methods (Polygons)
+	//**********************************************************************
+
+	// Custom polygon for the sides=2 case. Irregular but convex.
+	private ConvexPolygon	createSpecialPolygon()
+	{
+		return new ConvexPolygon(new double[]
+		{
+			 1.00, -0.86,
+			 1.00, -0.24,
+			 0.48,  0.90,
+			 0.05,  1.00,
+			-0.34,  0.87,
+
+			-0.86,  0.40,
+			-1.00,  0.04,
+			-0.93, -0.42,
+			-0.53, -0.84,
+			 0.71, -1.00,
+		});
+	}
+
+	// Gets a regular N-gon with points stored in counterclockwise order,
+	// building it the first time. The polygon is centered at the origin with
+	// first vertex at (radius, 0.0). Keeps the last one, since the side count
+	// rarely changes between steps.
+	private ConvexPolygon	getRegularPolygon(int sides)
+	{
+		if (sides == regionSides)
+			return region;
+
+		double delta = 2.0 * Math.PI / sides;
+		double radius = .70 / Math.cos(delta/2.0); // compute the radius to make sure the polygon is centered at (0,0) and the first point is (1,0)
+		if(sides == 3) {
+			radius = .50 / Math.cos(delta/2.0); // triangle size is too big at .7 but other polygons are good size
+		}
+		region = regions.get(sides, radius);
+		regionSides = sides;
+
+		return region;
+	}
+}
+
+//******************************************************************************
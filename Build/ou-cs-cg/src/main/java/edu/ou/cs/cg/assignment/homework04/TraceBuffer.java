@@ -0,0 +1,162 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A fixed-capacity ring buffer of timestamped points, stored in primitive
+// arrays allocated once. Points are stamped with the buffer's current time,
+// which the owner advances once per frame with setTime(). Advancing the time
+// evicts every point older than the window. Adding to a full buffer evicts
+// the oldest point. Nothing allocates after construction.
+//
+// Points are indexed from 0 (oldest) to getSize()-1 (newest).
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework04;
+
+//******************************************************************************
+
+/**
+ * The <CODE>TraceBuffer</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class TraceBuffer
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int			capacity;
+	private final double[]		x;
+	private final double[]		y;
+	private final double[]		t;
+
+	private int				head;		// Index of the oldest point
+	private int				size;		// Number of points held
+	private double				window;		// How long to keep points
+	private double				time;		// Current time
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public TraceBuffer(int capacity, double window)
+	{
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive");
+
+		this.capacity = capacity;
+		this.window = window;
+
+		x = new double[capacity];
+		y = new double[capacity];
+		t = new double[capacity];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getCapacity()
+	{
+		return capacity;
+	}
+
+	public int	getSize()
+	{
+		return size;
+	}
+
+	public boolean	isEmpty()
+	{
+		return (size == 0);
+	}
+
+	public double	getWindow()
+	{
+		return window;
+	}
+
+	public void	setWindow(double v)
+	{
+		window = v;
+		evict();
+	}
+
+	public double	getTime()
+	{
+		return time;
+	}
+
+	// Advances the current time and evicts points older than the window.
+	public void	setTime(double v)
+	{
+		time = v;
+		evict();
+	}
+
+	public double	getX(int i)
+	{
+		return x[(head + i) % capacity];
+	}
+
+	public double	getY(int i)
+	{
+		return y[(head + i) % capacity];
+	}
+
+	public double	getTime(int i)
+	{
+		return t[(head + i) % capacity];
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Adds a point stamped with the current time, evicting the oldest point
+	// if the buffer is full.
+	public void	add(double px, double py)
+	{
+		int	i = (head + size) % capacity;
+
+		x[i] = px;
+		y[i] = py;
+		t[i] = time;
+
+		if (size < capacity)
+			size++;
+		else
+			head = (head + 1) % capacity;
+	}
+
+	public void	clear()
+	{
+		head = 0;
+		size = 0;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	evict()
+	{
+		double	cutoff = time - window;
+
+		while ((size > 0) && (t[head] < cutoff))
+		{
+			head = (head + 1) % capacity;
+			size--;
+		}
+	}
+}
+
+//******************************************************************************
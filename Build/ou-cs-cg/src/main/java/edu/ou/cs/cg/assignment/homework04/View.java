@@ -16,6 +16,11 @@
 //******************************************************************************
 // Notes:
 //
+// Everything in the scene is drawn from VertexBatches (VBOs). The axes are
+// uploaded once, and the container polygon only when it changes. The moving
+// objects, trace, bounces, and cursor are refilled every frame, but each is
+// sent with one buffer upload and drawn with one call.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.assignment.homework04;
@@ -30,7 +35,9 @@ import com.jogamp.opengl.awt.GLJPanel;
 import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
+import edu.ou.cs.cg.utilities.TransformCache;
 import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -54,8 +61,11 @@ public final class View
 	// Public Class Members
 	//**********************************************************************
 
-	public static final int			MIN_SIDES = 3;
-	public static final int			MAX_SIDES = 12;
+	public static final int			MIN_SIDES = Simulation.MIN_SIDES;
+	public static final int			MAX_SIDES = Simulation.MAX_SIDES;
+
+	public static final int			MIN_OBJECTS = Simulation.MIN_OBJECTS;
+	public static final int			MAX_OBJECTS = Simulation.MAX_OBJECTS;
 
 	//**********************************************************************
 	// Private Members
@@ -67,28 +77,27 @@ public final class View
 	private int						h;			// Canvas height
 
 	private TextRenderer				renderer;
+	private GLU						glu;		// Made once, in init()
+	private final TransformCache		transform;	// Mirrors the GL matrices
 
 	private final FPSAnimator			animator;
-	private int						counter;	// Frame counter
 
 	private final Model				model;
 
 	private final KeyHandler			keyHandler;
 	private final MouseHandler			mouseHandler;
 
-	private final Deque<Point2D.Double>			special;
-	private final ArrayList<Deque<Point2D.Double>>	regions;
-
-	// Reference Vector
-	// TODO: PUT MEMBERS FOR THE REFERENCE VECTOR HERE
-	Point2D.Double rv;
-
-	// Tracer and Bounces
-	// TODO: PUT MEMBERS FOR THE TRACER AND BOUNCES HERE
-	private Deque<Point2D.Double>	traces;
-	private Deque<Point2D.Double>	bounces;
-
+	// Polygons, moving objects, tracer, and bounces
+	private final Simulation			simulation;
 
+	// Vertices for drawing
+	private final VertexBatch			axesBatch;
+	private final VertexBatch			containerBatch;	// Edges, then fill
+	private ConvexPolygon				container;		// In containerBatch
+	private final VertexBatch			objectBatch;
+	private final VertexBatch			traceBatch;
+	private final VertexBatch			bounceBatch;
+	private final VertexBatch			cursorBatch;
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -99,26 +108,23 @@ public final class View
 		this.canvas = canvas;
 
 		// Initialize rendering
-		counter = 0;
 		canvas.addGLEventListener(this);
+		transform = new TransformCache();
 
 		// Initialize model (scene data and parameter manager)
 		model = new Model(this);
 
-		// Initialize container polygons
-		special = createSpecialPolygon();					// For N = 2
-		regions = new ArrayList<Deque<Point2D.Double>>();	// For MIN to MAX
+		// Initialize simulation (polygons, moving objects, tracer, bounces)
+		simulation = new Simulation(model.getCount());
 
-		for (int i=MIN_SIDES; i<=MAX_SIDES; i++)
-			regions.add(createPolygon(i));
-
-		// Initialize reference vector
-		// TODO: INITIALIZE MEMBERS FOR THE REFERENCE VECTOR HERE
-		rv = new Point2D.Double(model.getFactor(), 0);
-
-		// Initialize tracer and bounces
-		traces = new ArrayDeque<Point2D.Double>();
-		bounces = new ArrayDeque<Point2D.Double>(); 
+		// Initialize vertices (uploaded on the first frame)
+		axesBatch = createAxes();
+		containerBatch = new VertexBatch(2 * MIN_SIDES, false);
+		container = null;
+		objectBatch = new VertexBatch(model.getCount(), true);
+		traceBatch = new VertexBatch(1024, true);
+		bounceBatch = new VertexBatch(1024, true);
+		cursorBatch = new VertexBatch(32, true);
 
 		// Initialize controller (interaction handlers)
 		keyHandler = new KeyHandler(this, model);
@@ -147,6 +153,12 @@ public final class View
 		return h;
 	}
 
+	// Maps between view and scene coordinates without querying GL.
+	public TransformCache	getTransform()
+	{
+		return transform;
+	}
+
 	//**********************************************************************
 	// Public Methods
 	//**********************************************************************
@@ -154,16 +166,19 @@ public final class View
 	public void	clearAllTrace()
 	{
 		// Remove all trajectory and bounce points
-
-		// TODO: YOUR CODE HERE
-		traces = new ArrayDeque<Point2D.Double>();
-		bounces = new ArrayDeque<Point2D.Double>(); 
+		simulation.clearAllTrace();
 	}
 
 	public int getMaxSides() {
 		return MAX_SIDES;
 	}
 
+	// Move all of the moving objects back to the origin.
+	public void	resetObjects()
+	{
+		simulation.resetObjects();
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
@@ -172,21 +187,35 @@ public final class View
 	{
 		w = drawable.getSurfaceWidth();
 		h = drawable.getSurfaceHeight();
+		transform.setViewport(0, 0, w, h);
 
 		renderer = new TextRenderer(new Font("Monospaced", Font.PLAIN, 12),
 									true, true);
+		glu = GLU.createGLU();
 
 		initPipeline(drawable);
 	}
 
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		axesBatch.dispose(gl);
+		containerBatch.dispose(gl);
+		objectBatch.dispose(gl);
+		traceBatch.dispose(gl);
+		bounceBatch.dispose(gl);
+		cursorBatch.dispose(gl);
+
 		renderer = null;
+		glu = null;
 	}
 
 	public void	display(GLAutoDrawable drawable)
 	{
-		updatePipeline(drawable);
+		updatePipeline(drawable);					// Before input, to map it
+
+		model.applyUpdates(drawable);				// Apply input since last
 
 		update(drawable);
 		render(drawable);
@@ -196,6 +225,7 @@ public final class View
 	{
 		this.w = w;
 		this.h = h;
+		transform.setViewport(x, y, w, h);
 	}
 
 	//**********************************************************************
@@ -204,22 +234,14 @@ public final class View
 
 	private void	update(GLAutoDrawable drawable)
 	{
-		counter++;									// Advance animation counter
-
-		Deque<Point2D.Double>	polygon = getCurrentPolygon();
-		Point2D.Double			q = model.getObject();
-
-		updatePointWithReflection(polygon, q);
-		model.setObjectInSceneCoordinatesAlt(new Point2D.Double(q.x, q.y));
-
-		// Remove old (>1 second) trajectory and bounce points
-		if (counter % 60 < 1) {
-			if(!traces.isEmpty() && !bounces.isEmpty()) {
-				traces.removeLast();
-				bounces.removeLast();
-			}
-		}					
-			
+		Model.State			state = model.getState();
+
+		syncSimulation();
+		simulation.setObject(state.getObjectX(), state.getObjectY());
+		simulation.step();
+
+		model.setObjectInSceneCoordinatesAlt(simulation.getObjectX(),
+											 simulation.getObjectY());
 	}
 
 	private void	render(GLAutoDrawable drawable)
@@ -251,11 +273,11 @@ public final class View
 	private void	updatePipeline(GLAutoDrawable drawable)
 	{
 		GL2			gl = drawable.getGL().getGL2();
-		GLU			glu = GLU.createGLU();
 
 		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
 		gl.glLoadIdentity();						// Set to identity matrix
 		glu.gluOrtho2D(-1.2, 1.2, -1.2, 1.2);		// 2D translate and scale
+		transform.setOrtho2D(-1.2, 1.2, -1.2, 1.2);
 	}
 
 	//**********************************************************************
@@ -271,12 +293,12 @@ public final class View
 		// Draw all text in light gray
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
 
-		Point2D.Double	cursor = model.getCursor();
+		Model.State	state = model.getState();
 
-		if (cursor != null)
+		if (state.hasCursor())
 		{
-			String		sx = FORMAT.format(new Double(cursor.x));
-			String		sy = FORMAT.format(new Double(cursor.y));
+			String		sx = FORMAT.format(state.getCursorX());
+			String		sy = FORMAT.format(state.getCursorY());
 			String		s = "Pointer at (" + sx + "," + sy + ")";
 
 			renderer.draw(s, 2, 2);
@@ -286,13 +308,20 @@ public final class View
 			renderer.draw("No Pointer", 2, 2);
 		}
 
-		String		sn = ("[q|w] Number = " + model.getNumber());
-		String		sf = ("[a|s] Factor = " + FORMAT.format(model.getFactor()));
+		String		sn = ("[q|w] Number = " + state.getNumber() +
+						  " (shift for 2x)");
+		String		sf = ("[a|s] Factor = " + FORMAT.format(state.getFactor()));
 		String		sc = ("[c]   Center moving object in polygon");
+		String		so = ("[z|x] Objects = " + state.getCount());
+		String		sp = ("[p]   Parallel = " + state.getParallel());
+		String		sj = ("[f]   Fast-forward object 1,000,000 updates");
 
 		renderer.draw(sn, 2, 16);
 		renderer.draw(sf, 2, 30);
 		renderer.draw(sc, 2, 44);
+		renderer.draw(so, 2, 58);
+		renderer.draw(sp, 2, 72);
+		renderer.draw(sj, 2, 86);
 
 		renderer.endRendering();
 	}
@@ -310,294 +339,172 @@ public final class View
 	// Draw horizontal (y==0) and vertical (x==0) axes
 	private void	drawAxes(GL2 gl)
 	{
-		gl.glColor3f(0.25f, 0.25f, 0.25f);			// Dark gray
-
-		gl.glBegin(GL.GL_LINES);
-
-		gl.glVertex2d(-10.0, 0.0);
-		gl.glVertex2d(10.0, 0.0);
-
-		gl.glVertex2d(0.0, -10.0);
-		gl.glVertex2d(0.0, 10.0);
-
-		gl.glEnd();
+		axesBatch.draw(gl, GL.GL_LINES);
 	}
 
 	// Fills and edges the polygon that is surrounding the moving object.
 	private void	drawContainer(GL2 gl)
 	{
-		Deque<Point2D.Double>	polygon = getCurrentPolygon();
-		//System.out.println(polygon);
+		ConvexPolygon	polygon = simulation.getCurrentPolygon();
 
-		gl.glColor3f(.5f, .5f, .5f);			// White
-		edgePolygon(gl, polygon);
-
-		gl.glColor3f(0.15f, 0.15f, 0.15f);			// Very dark gray
-		fillPolygon(gl, polygon);
+		if (polygon != container)
+		{
+			loadContainer(polygon);
+			container = polygon;
+		}
 
+		int	n = polygon.getSides();
 
+		containerBatch.draw(gl, GL.GL_LINE_LOOP, 0, n);
+		containerBatch.draw(gl, GL2.GL_POLYGON, n, n);
 	}
 
 	// If the cursor point is not null, draw something helpful around it.
 	private void	drawCursor(GL2 gl)
 	{
-		Point2D.Double	cursor = model.getCursor();
+		Model.State	state = model.getState();
 
-		if (cursor == null)
+		if (!state.hasCursor())
 			return;
 
-		gl.glBegin(GL.GL_LINE_LOOP);
-		gl.glColor3f(0.5f, 0.5f, 0.5f);
+		cursorBatch.clear();
+		cursorBatch.color(0.5f, 0.5f, 0.5f);
 
 		for (int i=0; i<32; i++)
 		{
 			double	theta = (2.0 * Math.PI) * (i / 32.0);
 
-			gl.glVertex2d(cursor.x + 0.01 * Math.cos(theta),
-						  cursor.y + 0.01 * Math.sin(theta));
+			cursorBatch.add(state.getCursorX() + 0.01 * Math.cos(theta),
+							state.getCursorY() + 0.01 * Math.sin(theta));
 		}
 
-		gl.glEnd();
+		cursorBatch.draw(gl, GL.GL_LINE_LOOP);
 	}
 
-	// Draw the moving object, which in this assignment is a single point.
+	// Draw the moving objects. The model's object is drawn last, on top.
 	private void	drawObject(GL2 gl)
 	{
-		Point2D.Double	object = model.getObject();
-		gl.glBegin(GL2.GL_POINTS);
-		gl.glColor3f(1f, 1f, (float)(51/255));			// bright yellow
-		gl.glVertex2d(object.x, object.y);
+		Particles	particles = simulation.getParticles();
+		int		count = particles.getCount();
+
+		objectBatch.clear();
+		objectBatch.color(0.6f, 0.6f, 0.2f);				// dim yellow
+
+		for (int i=1; i<count; i++)
+			objectBatch.add(particles.getX(i), particles.getY(i));
 
-		gl.glEnd();	
+		Model.State	state = model.getState();
+
+		objectBatch.color(1f, 1f, (float)(51/255));		// bright yellow
+		objectBatch.add(state.getObjectX(), state.getObjectY());
+
+		objectBatch.draw(gl, GL.GL_POINTS);
 	}
 
 	// Draw the object trajectory in the polygon.
 	private void	drawTracing(GL2 gl)
 	{
+		TraceBuffer	traces = simulation.getTraces();
+
 		if(!traces.isEmpty()) {
-			gl.glBegin(GL2.GL_LINES);//static field
-			Point2D.Double object = model.getObject();
-			Point2D.Double dest = traces.getFirst();
-			gl.glColor3f(0, 0, (float)(51/255));			// blue?
-			gl.glVertex2d(object.x,object.y);
-			gl.glVertex2d(dest.x,dest.y);
-
-			gl.glEnd();
+			Model.State state = model.getState();
+			traceBatch.clear();
+			traceBatch.color(0, 0, (float)(51/255));			// blue?
+
+			for (int i=0; i<traces.getSize(); i++)
+				traceBatch.add(traces.getX(i), traces.getY(i));
+
+			traceBatch.add(state.getObjectX(),state.getObjectY());
+
+			traceBatch.draw(gl, GL.GL_LINE_STRIP);
 		}
 	}
 
 	// Draw the reflection points on the polygon.
 	private void	drawBounces(GL2 gl)
 	{
+		TraceBuffer	bounces = simulation.getBounces();
+
 		if(!bounces.isEmpty()) {
-			gl.glBegin(GL2.GL_POINTS);
-			gl.glColor3f(1f, 0f, 0f);			// red
-			Iterator<Point2D.Double> bIterator = bounces.iterator();
-			while (bIterator.hasNext()) {
-				Point2D.Double bounce = bIterator.next();
-				gl.glVertex2d(bounce.x, bounce.y);
-			}
-
-			gl.glEnd();	
+			bounceBatch.clear();
+			bounceBatch.color(1f, 0f, 0f);			// red
+
+			for (int i=0; i<bounces.getSize(); i++)
+				bounceBatch.add(bounces.getX(i), bounces.getY(i));
+
+			bounceBatch.draw(gl, GL.GL_POINTS);
 		}
 	}
 
 
 	//**********************************************************************
-	// Private Methods (Polygons)
+	// Private Methods (Vertices)
 	//**********************************************************************
 
-	// Custom polygon for the sides=2 case. Irregular but convex.
-	private Deque<Point2D.Double>	createSpecialPolygon()
+	// Creates the vertices of the horizontal and vertical axes.
+	private static VertexBatch	createAxes()
 	{
-		Deque<Point2D.Double>	polygon = new ArrayDeque<Point2D.Double>(10);
-
-		polygon.add(new Point2D.Double( 1.00, -0.86));
-		polygon.add(new Point2D.Double( 1.00, -0.24));
-		polygon.add(new Point2D.Double( 0.48,  0.90));
-		polygon.add(new Point2D.Double( 0.05,  1.00));
-		polygon.add(new Point2D.Double(-0.34,  0.87));
-
-		polygon.add(new Point2D.Double(-0.86,  0.40));
-		polygon.add(new Point2D.Double(-1.00,  0.04));
-		polygon.add(new Point2D.Double(-0.93, -0.42));
-		polygon.add(new Point2D.Double(-0.53, -0.84));
-		polygon.add(new Point2D.Double( 0.71, -1.00));
-		polygon.add(new Point2D.Double( 1.00, -0.86));
-
-		return polygon;
-	}
+		VertexBatch	batch = new VertexBatch(4, false);
 
-	// Creates a regular N-gon with points stored in counterclockwise order.
-	// The polygon is centered at the origin with first vertex at (1.0, 0.0).
-	private Deque<Point2D.Double> createPolygon(int sides) {
-		Deque<Point2D.Double> polygon = new ArrayDeque<>(sides);
-		double theta = 0.0;
-		double delta = 2.0 * Math.PI / sides;
-		double radius = .70 / Math.cos(delta/2.0); // compute the radius to make sure the polygon is centered at (0,0) and the first point is (1,0)
-		if(sides == 3) {
-			radius = .50 / Math.cos(delta/2.0); // triangle size is too big at .7 but other polygons are good size
-		}
-		for (int i = 0; i < sides; i++) {
-			double x = radius * Math.cos(theta);
-			double y = radius * Math.sin(theta);
-			polygon.add(new Point2D.Double(x, y));
-			theta += delta;
-		}
-		return polygon;
-	}
+		batch.color(0.25f, 0.25f, 0.25f);				// Dark gray
 
-	private void edgePolygon(GL2 gl, Deque<Point2D.Double> polygon) {
-		Iterator<Point2D.Double> pIterator = polygon.iterator();
-		gl.glBegin(GL.GL_LINE_LOOP);
-		while (pIterator.hasNext()) {
-			Point2D.Double vertex = pIterator.next();
-			gl.glVertex2d(vertex.x, vertex.y);
-		}
-		gl.glEnd();
+		batch.add(-10.0, 0.0);
+		batch.add(10.0, 0.0);
 
-	}
+		batch.add(0.0, -10.0);
+		batch.add(0.0, 10.0);
 
-	// Draws the interior of the specified polygon.
-	private void	fillPolygon(GL2 gl, Deque<Point2D.Double> polygon)
-	{
-		Iterator<Point2D.Double> pIterator = polygon.iterator();
- 
-		gl.glBegin(GL2.GL_POLYGON);
-		while (pIterator.hasNext()) {
-			Point2D.Double vertex = pIterator.next();
-			gl.glVertex2d(vertex.getX(), vertex.getY());
-		}
-		gl.glEnd();
+		return batch;
 	}
 
-	// Get the polygon that is currently containing the moving object.
-	private Deque<Point2D.Double>	getCurrentPolygon()
+	// Replaces the container vertices with the edges, then the interior, of
+	// the specified polygon.
+	private void	loadContainer(ConvexPolygon polygon)
 	{
-		int	sides = model.getNumber();
+		containerBatch.clear();
 
-		if (sides == 2)
-			return special;
-		else if ((MIN_SIDES <= sides) && (sides <= MAX_SIDES+1))
-			return regions.get(sides - MIN_SIDES);
-		else
-			return null;
+		containerBatch.color(.5f, .5f, .5f);				// White
+
+		for (int i=0; i<polygon.getSides(); i++)
+			containerBatch.add(polygon.getX(i), polygon.getY(i));
+
+		containerBatch.color(0.15f, 0.15f, 0.15f);			// Very dark gray
+
+		for (int i=0; i<polygon.getSides(); i++)
+			containerBatch.add(polygon.getX(i), polygon.getY(i));
 	}
 
 	// Special method for privileged use by the Model class ONLY.
-	public boolean	currentPolygonContains(Point2D.Double q)
+	public boolean	currentPolygonContains(double x, double y)
 	{
-		return contains(getCurrentPolygon(), q);
-	}
+		syncSimulation();
 
-	//**********************************************************************
-	// Private Methods (Reflection)
-	//**********************************************************************
+		return simulation.contains(x, y);
+	}
 
-	// Updates the x and y coordinates of point q. Adds a vector to the provided
-	// point, reflecting as needed off the sides of the provided polygon to
-	// determine the new coordinates. The new coordinates are "returned" in q.
-	public void	updatePointWithReflection(Deque<Point2D.Double> polygon,
-											  Point2D.Double q)
+	// Special method for privileged use by the Model class ONLY.
+	public void	fastForwardObject(Point2D.Double q, long steps)
 	{
-		// TODO: YOUR CODE HERE. Hints for how to approach it follow.
-		
-		// Use the reference vector to remember the current direction of
-		// movement with a magnitude equal to the default distance (factor=1.0).
-
-		Point2D.Double v = new Point2D.Double(rv.x * model.getFactor(), rv.y * model.getFactor());
-
-		// For each update, copy the reference vector and scale it by the
-		// current speed factor...
+		syncSimulation();
+		simulation.setObject(q.x, q.y);
+		simulation.fastForwardObject(steps);
 
-		// ...then loop to consume the scaled vector until nothing is left.
-		while (v.distance(0,0) > 0)
-		{
-			double minDist = Double.MAX_VALUE;
-			Point2D.Double closestIntersection = null;
-			Point2D.Double p1 = polygon.getLast();
-			for(Point2D.Double p2 : polygon) {
-				Point2D.Double intersection = hmmm;
-			}
-			// 1. Calculate which side the point will reach first.
-
-			//    Loop the polygon counterclockwise, taking vertices pairwise.
-
-			//    For each side, see "Intersection of a Line through a Line".
-
-			//    Important: Check for edge cases (pun?) in which q is parallel
-			//    to the side or slightly outside it (due to roundoff error).
-			//    See Figure 4.37 and the dot products below it on page 176.
-
-			//    Always remember to check for divide-by-zero!
-
-			// 2. If the point WON'T reach the closest side in this update,
-			//    simply add the vector to it, and break out of the loop.
-			break;
-			//    Or if it WILL reach the side:
-
-			//    Move the point to the hit point on the closest side.
-			//    Calculate the reflected vector. Reduce it by the amount
-			//    already moved, and use it as the new scaled vector.
-
-			// After bounces, remember to update the direction of the reference
-			// vector for the next time updatePointWithReflection() is called!
-		}
+		q.x = simulation.getObjectX();
+		q.y = simulation.getObjectY();
 	}
+
 	//**********************************************************************
-	// Private Methods (Vectors)
+	// Private Methods (Simulation)
 	//**********************************************************************
 
-	// This might be a method to calculate a dot product. Sure seems like it.
-	private double		dot(double vx, double vy, double vz,
-							double wx, double wy, double wz)
+	// Copies the user-adjustable variables from the model to the simulation.
+	private void	syncSimulation()
 	{
-		return (vx*wx)+(vy*wy)+(vz*wz);
+		simulation.setNumber(model.getNumber());
+		simulation.setFactor(model.getFactor());
+		simulation.setCount(model.getCount());
+		simulation.setParallel(model.getParallel());
 	}
-
-	// Determines if point q is to the left of line p1->p2. If strict is false,
-	// points exactly on the line are considered to be left of it.
-	private boolean	isLeft(Point2D.Double p1, Point2D.Double p2,
-							   Point2D.Double q, boolean strict)
-	{
-		//getting vector p1->p2
-		double vx = p2.x - p1.x;
-		double vy = p2.y - p1.y;
-		//getting vector p1->q
-		double wx = q.x - p1.x;
-		double wy = q.y - p1.y;
-
-		//calculate dot prod
-		double dp = dot(vx, vy, 0, wx, wy, 0);
-
-		//return result
-		if(strict) return dp > 0;
-		else return dp >= 0;
-	}
-
-	// Determines if point q is inside a polygon. The polygon must be convex
-	// with points stored in counterclockwise order. Points exactly on any side
-	// of the polygon are considered to be outside of it.
-	private boolean	contains(Deque<Point2D.Double> polygon,
-								 Point2D.Double q)
-	{
-		boolean contained = true;
-		Iterator<Point2D.Double> pIterator = polygon.iterator();
-		Point2D.Double p1 = pIterator.next();
-		Point2D.Double p2;
-		while (pIterator.hasNext()) {
-			p2 = pIterator.next();
-			if(!isLeft(p1,p2,q,false)) {
-				contained = false;
-				break;
-			}
-			p1 = p2;
-		}
-		// Hint: Use isLeft(). See the slide on "Testing Containment in 2D".
-
-		return contained && isLeft(p1, polygon.getFirst(), q, false);
-	}
-
 }
 
 //******************************************************************************
@@ -20,6 +20,22 @@
 // mode vertex attribute specification, for sake of easier classroom learning.
 // See www.khronos.org/opengl/wiki/Legacy_OpenGL
 //
+// Everything in the scene except the galaxy, chimney smoke, and kite is
+// static, so it's compiled into a display list on the first frame and replayed
+// with a single glCallList() after that. The animated parts are still drawn
+// from scratch every frame, in the same order as before relative to the rest.
+//
+// The galaxy's integrator can be given on the command line, as for Lorenz:
+//
+//   [euler|rk4|rk45 [step [tolerance]]]
+//
+// The default is Euler with a step of 0.01, which draws the original galaxy.
+// Bad arguments print what's wrong and the usage, and exit with status 1.
+//
+// The galaxy's points are integrated once, into a VertexBatch. Each frame, the
+// rise is applied as a modelview matrix, and only the colors of the points
+// entering and leaving the cycling window are changed and re-uploaded.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.assignment.solution02;
@@ -36,6 +52,8 @@ import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.*;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.LorenzSystem;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -55,6 +73,9 @@ public final class Application
 	private static final String		DEFAULT_NAME = "Solution02";
 	private static final Dimension		DEFAULT_SIZE = new Dimension(1280, 720);
 
+	private static final int			GALAXY_POINTS = 10000;
+	private static final int			GALAXY_WINDOW = 20;	// Each side
+
 	//**********************************************************************
 	// Public Class Members
 	//**********************************************************************
@@ -71,6 +92,11 @@ public final class Application
 	private int				h;				// Canvas height
 	private int				k = 0;			// Animation counter
 	private TextRenderer		renderer;
+	private int				scene = 0;		// Static display list, or 0
+
+	private final VertexBatch	galaxy;		// Galaxy points
+	private final float[]		shade;			// Their background gray
+	private int				window = -1;	// Middle of cycling window
 
 	//**********************************************************************
 	// Main
@@ -87,6 +113,24 @@ public final class Application
 
 	public Application(String[] args)
 	{
+		LorenzSystem	system = createSystem(args);
+
+		galaxy = new VertexBatch(GALAXY_POINTS, true);
+		shade = new float[GALAXY_POINTS];
+
+		for (int i=0; i<GALAXY_POINTS; i++)
+		{
+			system.step();
+
+			double	lx = system.getX();
+			double	ly = system.getY();
+			double	lz = system.getZ();
+
+			shade[i] = (float)((lz + 30.0) / 60.0);
+
+			galaxy.color(shade[i], shade[i], shade[i], 0.05f);
+			galaxy.add(-lx / 30.0, ly / 30.0);
+		}
 	}
 
 	//**********************************************************************
@@ -155,6 +199,14 @@ public final class Application
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		galaxy.dispose(gl);
+
+		if (scene != 0)
+			gl.glDeleteLists(scene, 1);
+
+		scene = 0;
 		renderer = null;
 	}
 
@@ -194,18 +246,34 @@ public final class Application
 		drawLorenzGalaxy(gl);
 
 		setScreenProjection(gl);				// Position the rest absolutely
-		drawSky(gl);
-		drawGround(gl);
-		drawSidewalkBase(gl);
-		drawStars(gl);
-		drawMoon(gl);
-		drawSidewalk(gl);
-		drawHopscotch(gl);
-		drawHouses(gl);
-		drawFence(gl);
+		drawScene(gl);							// Static parts, cached
+		drawHouseSmoke(gl);
 		drawKite(gl);
 	}
 
+	// Draws the static parts of the scene, compiling them the first time.
+	private void	drawScene(GL2 gl)
+	{
+		if (scene == 0)
+		{
+			scene = gl.glGenLists(1);
+
+			gl.glNewList(scene, GL2.GL_COMPILE);
+			drawSky(gl);
+			drawGround(gl);
+			drawSidewalkBase(gl);
+			drawStars(gl);
+			drawMoon(gl);
+			drawSidewalk(gl);
+			drawHopscotch(gl);
+			drawHouses(gl);
+			drawFence(gl);
+			gl.glEndList();
+		}
+
+		gl.glCallList(scene);
+	}
+
 	//**********************************************************************
 	// Private Methods (Pipeline)
 	//**********************************************************************
@@ -255,45 +323,59 @@ public final class Application
 	// www.algosome.com/articles/lorenz-attractor-programming-code.html
 	private void	drawLorenzGalaxy(GL2 gl)
 	{
-		gl.glPointSize(5.0f);					// Set point size (in pixels)
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
+		int	c = k % GALAXY_POINTS;
 
-		double		dt = 0.01;					// Integration step size
-		double		sigma = 10.0;				// Constant for updating x
-		double		rho = 28.0;				// Constant for updating y
-		double		beta = 8.0 / 3.0;			// Constant for updating z
-		double		lx = 0.1;					// Initial x coordinate
-		double		ly = 0.0;					// Initial y coordinate
-		double		lz = 0.0;					// Initial z coordinate
-
-		for (int i=0; i<10000; i++)
+		if (c != window)
 		{
-			double	llx = lx + dt * sigma * (ly - lx);
-			double	lly = ly + dt * (lx * (rho - lz) - ly);
-			double	llz = lz + dt * (lx * ly - beta * lz);
-
-			lx = llx;
-			ly = lly;
-			lz = llz;
-			//System.out.println(" " + lx + " " + ly + " " + lz);
+			// Return the points in the old window to background stars
+			for (int i=window-GALAXY_WINDOW; i<=window+GALAXY_WINDOW; i++)
+			{
+				if ((window < 0) || (i < 0) || (i >= GALAXY_POINTS))
+					continue;
 
-			float	cc = (float)((lz + 30.0) / 60.0);
-			int	n = k % 10000 - i;
-			int	cw = (n + 20) * 6 + 15;
+				galaxy.color(shade[i], shade[i], shade[i], 0.05f);
+				galaxy.recolor(i);
+			}
 
 			// Lower background star opacity to experiment with animation.
-			if (Math.abs(n) <= 20)							// Animation window
-				setColor(gl, 255, 255-cw, cw, 255-cw);		// Dots cycling
-			else
-				gl.glColor4f(cc, cc, cc, 0.05f);			// Background stars
+			for (int i=c-GALAXY_WINDOW; i<=c+GALAXY_WINDOW; i++)
+			{
+				if ((i < 0) || (i >= GALAXY_POINTS))
+					continue;
 
-			double	dy = 0.00005 * k * (1.5 - 0.05 * lx);	// Galaxy rise
+				int	n = c - i;
+				int	cw = (n + 20) * 6 + 15;
 
-			gl.glVertex2d(-lx / 30.0, ly / 30.0 + dy);
+				// Dots cycling
+				galaxy.color(1.0f, (255 - cw) / 255.0f, cw / 255.0f,
+							 (255 - cw) / 255.0f);
+				galaxy.recolor(i);
+			}
+
+			window = c;
 		}
 
-		gl.glEnd();
+		// The galaxy rises by dy = 0.00005 * k * (1.5 - 0.05 * lx), where
+		// x = -lx / 30. That's dy = a + a * x for a = 0.000075 * k, so shear
+		// y by a * x and translate it by a.
+		double		a = 0.000075 * k;
+		double[]	m = new double[]
+		{
+			1.0,   a, 0.0, 0.0,
+			0.0, 1.0, 0.0, 0.0,
+			0.0, 0.0, 1.0, 0.0,
+			0.0,   a, 0.0, 1.0,
+		};
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glMultMatrixd(m, 0);
+
+		gl.glPointSize(5.0f);					// Set point size (in pixels)
+		galaxy.draw(gl, GL.GL_POINTS);
 		gl.glPointSize(1.0f);					// Reset point size (in pixels)
+
+		gl.glPopMatrix();
 	}
 
 	private void	drawSky(GL2 gl)
@@ -656,7 +738,7 @@ public final class Application
 		int		tx = 108;
 		int		ty = 132;
 
-		drawChimney(gl, tx + 114, ty + 162, true);
+		drawChimney(gl, tx + 114, ty + 162);
 		drawOutline(gl, tx, ty, 0, 1);
 		drawRoof(gl, tx + 88, ty + 250);
 		drawWindow(gl, tx + 127, ty + 127, true);
@@ -665,7 +747,7 @@ public final class Application
 		tx = 634;
 		ty = 158;
 
-		drawChimney(gl, tx + 30, ty + 162, false);
+		drawChimney(gl, tx + 30, ty + 162);
 		drawOutline(gl, tx, ty, 1, 2);
 		drawWindow(gl, tx + 98, ty + 64, false);
 		drawWindow(gl, tx + 144, ty + 64, false);
@@ -675,7 +757,7 @@ public final class Application
 		tx = 1048;
 		ty = 132;
 
-		drawChimney(gl, tx + 30, ty + 162, false);
+		drawChimney(gl, tx + 30, ty + 162);
 		drawOutline(gl, tx, ty, 2, 2);
 		drawWindow(gl, tx + 98, ty + 64, false);
 		drawWindow(gl, tx + 144, ty + 64, false);
@@ -683,16 +765,23 @@ public final class Application
 		drawDoorWindow(gl, tx + 27, ty + 71);
 	}
 
-	private void	drawChimney(GL2 gl, int sx, int sy, boolean smoke)
+	private void	drawChimney(GL2 gl, int sx, int sy)
 	{
 		setColor(gl, 128, 0, 0);				// Firebrick red
 		fillRect(gl, sx, sy, 30, 88);
 
 		setColor(gl, 0, 0, 0);					// Black
 		drawRect(gl, sx, sy, 30, 88);
+	}
 
-		if (smoke)
-			drawSmoke(gl, sx + 3, sy + 88);
+	// Smoke from the first house's chimney. It's animated, so it's drawn
+	// separately from the houses. Nothing else overlaps it.
+	private void	drawHouseSmoke(GL2 gl)
+	{
+		int		tx = 108;
+		int		ty = 132;
+
+		drawSmoke(gl, tx + 114 + 3, ty + 162 + 88);
 	}
 
 	private LinkedList<Point>	smoke = new LinkedList<Point>();
@@ -1016,6 +1105,28 @@ public final class Application
 			theta += delta;
 		}
 	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Makes the Lorenz system from the arguments, starting at (0.1, 0, 0).
+	// Prints what's wrong and the usage, then exits, if they're bad.
+	private static LorenzSystem	createSystem(String[] args)
+	{
+		try
+		{
+			return LorenzSystem.fromArgs(args, 0.1, 0.0, 0.0);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println("hw02chris: " + ex.getMessage());
+			System.err.println("Usage: hw02chris " + LorenzSystem.USAGE);
+			System.exit(1);
+
+			return null;
+		}
+	}
 }
 
 //******************************************************************************
@@ -19,6 +19,34 @@
 // mode vertex attribute specification, for sake of easier classroom learning.
 // See www.khronos.org/opengl/wiki/Legacy_OpenGL
 //
+// The Sierpinski points come from a ChaosGame, which fills a float[] in
+// parallel chunks without touching the shared RANDOM, and are drawn with one
+// call from a VertexBatch. They're generated once, for the canonical triangle
+// with corners (0,0), (1,0), and (0,1), and kept in the batch's VBO. Each
+// frame multiplies SierpinskiPoints.affine() of the current corners onto the
+// modelview. Playing the chaos game in the canonical triangle and then mapping
+// the points gives the same gasket as playing it on the current corners,
+// since each move is halfway to a corner and affine maps keep midpoints. Only
+// the matrix changes per frame, however many points are drawn.
+//
+// Run as "gasket density" to accumulate points instead. Each frame generates
+// DENSITY_POINTS more points of the canonical triangle (0,0), (1,0), (0,1),
+// and counts them in a histogram with one bin per pixel of the canvas. The
+// counts are tone-mapped on a log scale into an alpha texture that's drawn
+// over the base triangle. The scale tops out at the power of two above the
+// most hits in one bin, and a table holds the least count for each of the 256
+// alpha levels, so a frame only moves the bins it hits up a level or two. All
+// bins in the canonical triangle are mapped again only when the top doubles.
+// Since the chaos game commutes with affine maps, the canonical points are
+// mapped onto the current triangle by texture coordinates alone, so the counts
+// stay valid as the triangle moves and accumulate until the canvas is resized.
+// Frame cost doesn't grow with the number of points.
+//
+// Run as "gasket address" to take the points from SierpinskiPoints instead,
+// which makes them once by address in the canonical triangle and only maps
+// them onto the current triangle each frame. Every prefix of those points
+// covers the gasket evenly, so the picture fills in without random clumps.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.example;
@@ -27,14 +55,19 @@ package edu.ou.cs.cg.example;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
+import java.nio.ByteBuffer;
 import java.util.Random;
 import javax.swing.*;
+import com.jogamp.common.nio.Buffers;
 import com.jogamp.opengl.*;
 import com.jogamp.opengl.awt.*;
 import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.ChaosGame;
+import edu.ou.cs.cg.utilities.SierpinskiPoints;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -54,6 +87,20 @@ public final class Gasket
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		MAX_POINTS = 1 << 17;		// Generated
+	private static final int		DENSITY_POINTS = 1 << 18;	// Per frame
+	private static final int		DENSITY_WARMUP = 32;		// Per chunk
+
+	// Corners of the canonical triangle, mapped onto the base triangle
+	private static final double[]	CANONICAL = new double[]
+	{
+		0.0, 0.0, 1.0, 0.0, 0.0, 1.0,
+	};
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -71,6 +118,25 @@ public final class Gasket
 	private int				cmode = 0;		// Color mode [0-2]
 	private int				vmode = 0;		// Vertex mode [0-2]
 
+	// Sierpinski points, generated and drawn
+	private final ChaosGame	game = new ChaosGame();
+	private final SierpinskiPoints	lattice = new SierpinskiPoints();
+	private final boolean		address;		// Use lattice, not game
+	private final VertexBatch	points = new VertexBatch(MAX_POINTS, false);
+	private float[]			xy = null;		// Generated x,y pairs
+
+	// Density mode: hits per pixel in the canonical triangle, and texture
+	private final boolean		density;
+	private int[]				histogram = null;
+	private int				hmax;			// Most hits in one bin
+	private int				htop;			// Top of tone scale, 2^k > hmax
+	private final int[]		levels = new int[256];	// Least count per alpha
+	private long				total;			// Points accumulated
+	private int				tw;				// Histogram width
+	private int				th;				// Histogram height
+	private ByteBuffer			texels = null;	// Tone-mapped histogram
+	private int				texture = 0;	// Texture name, or 0 if none
+
 	//**********************************************************************
 	// Main
 	//**********************************************************************
@@ -86,6 +152,13 @@ public final class Gasket
 
 	public Gasket(String[] args)
 	{
+		game.setParallel(true);
+
+		density = ((args.length > 0) && "density".equalsIgnoreCase(args[0]));
+		address = ((args.length > 0) && "address".equalsIgnoreCase(args[0]));
+
+		if (density)
+			game.setWarmup(DENSITY_WARMUP);
 	}
 
 	//**********************************************************************
@@ -157,6 +230,15 @@ public final class Gasket
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		points.dispose(gl);
+
+		if (texture != 0)
+			gl.glDeleteTextures(1, new int[] { texture }, 0);
+
+		texture = 0;
+
 		renderer = null;
 	}
 
@@ -212,7 +294,12 @@ public final class Gasket
 
 		// Draw the scene
 		drawBaseTriangle(gl);					// Draw a colored triangle
-		drawSierpinskiTriangle(gl);			// Draw a Sierpinski triangle
+
+		if (density)
+			drawSierpinskiDensity(gl);			// Draw accumulated points
+		else
+			drawSierpinskiTriangle(gl);		// Draw a Sierpinski triangle
+
 		drawText(drawable);					// Draw some text
 
 		gl.glFlush();							// Finish and display
@@ -267,29 +354,187 @@ public final class Gasket
 	// en.wikipedia.org/wiki/Sierpinski_triangle
 	private void	drawSierpinskiTriangle(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
+		if (points.isEmpty())					// Generate points once
+		{
+			points.color(1.0f, 1.0f, 1.0f);	// Draw in white
+
+			if (address)
+			{
+				lattice.ensure(MAX_POINTS);
+				points.load(lattice.getCanonical(), 0, MAX_POINTS);
+			}
+			else
+			{
+				points.load(game.generate(CANONICAL, MAX_POINTS, null), 0,
+							MAX_POINTS);
+			}
+		}
 
 		Point2D.Double[]	t = new Point2D.Double[3];
-		Point2D.Double		p = new Point2D.Double(c, c);
 
 		calcVertices(t, vmode);
 
-		p.x = t[0].x;							// Initial x coordinate
-		p.y = t[0].y;							// Initial y coordinate
+		// Map the canonical corners (0,0), (1,0), (0,1) onto t[0], t[1], t[2]
+		double[]			a = SierpinskiPoints.affine(new double[]
+		{
+			t[0].x, t[0].y, t[1].x, t[1].y, t[2].x, t[2].y,
+		});
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glMultMatrixd(a, 0);
+
+		points.draw(gl, GL.GL_POINTS, 0, m);	// Draw the first m points
+
+		gl.glPopMatrix();
+	}
+
+	// Add more points to the histogram, and draw it over the base triangle.
+	private void	drawSierpinskiDensity(GL2 gl)
+	{
+		if ((texture == 0) || (tw != w) || (th != h))
+			resetDensity(gl);
 
-		for (int i=0; i<m; i++)				// Draw m points
+		xy = game.generate(CANONICAL, DENSITY_POINTS, xy);
+
+		for (int i=0; i<DENSITY_POINTS; i++)	// Count canonical points
 		{
-			int	index = RANDOM.nextInt(3);
+			int	u = Math.min((int)(xy[2 * i] * tw), tw - 1);
+			int	v = Math.min((int)(xy[2 * i + 1] * th), th - 1);
+			int	j = v * tw + u;
+			int	hits = ++histogram[j];
+			int	a = texels.get(j) & 0xFF;
+			int	b = a;
+
+			while ((b < 255) && (hits >= levels[b + 1]))	// Up to new level
+				b++;
 
-			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triangle
-			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
-			//System.out.println(" " + index + " " + p.x + " " + p.y);
+			if (b != a)
+				texels.put(j, (byte)b);
 
-			gl.glVertex2d(p.x, p.y);
+			if (hits > hmax)
+				hmax = hits;
 		}
 
+		total += DENSITY_POINTS;
+
+		if (hmax >= htop)						// Scale topped out
+			retoneDensity(Integer.highestOneBit(hmax) << 1);
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+		gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+		gl.glTexSubImage2D(GL.GL_TEXTURE_2D, 0, 0, 0, tw, th,
+						   GL.GL_ALPHA, GL.GL_UNSIGNED_BYTE, texels);
+
+		Point2D.Double[]	t = new Point2D.Double[3];
+
+		calcVertices(t, vmode);
+
+		gl.glEnable(GL.GL_TEXTURE_2D);
+		gl.glEnable(GL.GL_BLEND);
+		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glTexEnvi(GL2.GL_TEXTURE_ENV, GL2.GL_TEXTURE_ENV_MODE,
+					 GL2.GL_MODULATE);
+
+		gl.glBegin(GL.GL_TRIANGLES);
+		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
+
+		gl.glTexCoord2d(0.0, 0.0);
+		gl.glVertex2d(t[0].x, t[0].y);
+		gl.glTexCoord2d(1.0, 0.0);
+		gl.glVertex2d(t[1].x, t[1].y);
+		gl.glTexCoord2d(0.0, 1.0);
+		gl.glVertex2d(t[2].x, t[2].y);
+
 		gl.glEnd();
+
+		gl.glDisable(GL.GL_BLEND);
+		gl.glDisable(GL.GL_TEXTURE_2D);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+	}
+
+	// Empty the histogram and size it and its texture to the canvas.
+	private void	resetDensity(GL2 gl)
+	{
+		tw = Math.max(w, 1);
+		th = Math.max(h, 1);
+
+		histogram = new int[tw * th];
+		hmax = 0;
+		total = 0;
+		texels = Buffers.newDirectByteBuffer(tw * th);
+		retoneDensity(1);
+
+		if (texture == 0)
+		{
+			int[]	names = new int[1];
+
+			gl.glGenTextures(1, names, 0);
+			texture = names[0];
+		}
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER,
+						   GL.GL_LINEAR);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER,
+						   GL.GL_LINEAR);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S,
+						   GL.GL_CLAMP_TO_EDGE);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T,
+						   GL.GL_CLAMP_TO_EDGE);
+		gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+		gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_ALPHA, tw, th, 0,
+						GL.GL_ALPHA, GL.GL_UNSIGNED_BYTE, texels);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+	}
+
+	// Tone map on a log scale up to top, so sparse bins still show. Rebuilds
+	// the table of least counts for each alpha level, then maps the bins of the
+	// canonical triangle again, since no points land outside it.
+	private void	retoneDensity(int top)
+	{
+		double	scale = 255.0 / Math.log1p(top);
+
+		htop = top;
+		levels[0] = 0;
+
+		for (int b=1; b<256; b++)
+		{
+			int	least = (int)Math.ceil(Math.expm1(b / scale));
+
+			while ((least > 1) && ((int)(Math.log1p(least - 1) * scale) >= b))
+				least--;
+
+			while ((int)(Math.log1p(least) * scale) < b)
+				least++;
+
+			levels[b] = Math.max(least, 1);
+		}
+
+		for (int v=0; v<th; v++)
+		{
+			// Bins of this row that can be in the canonical triangle
+			int	n = Math.min((int)((long)(th - v) * tw / th) + 2, tw);
+
+			for (int j=v*tw, e=j+n; j<e; j++)
+			{
+				int	hits = histogram[j];
+				int	lo = 0;						// Search for the level
+				int	hi = 255;
+
+				while (lo < hi)
+				{
+					int	mid = (lo + hi + 1) >>> 1;
+
+					if (hits >= levels[mid])
+						lo = mid;
+					else
+						hi = mid - 1;
+				}
+
+				texels.put(j, (byte)lo);
+			}
+		}
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -300,7 +545,8 @@ public final class Gasket
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
 		renderer.draw("Sierpinski Gasket (CMode: " + cmode +
-					  " VMode: " + vmode + " Points: " + m + ")", 2, h - 14);
+					  " VMode: " + vmode + " Points: " +
+					  (density ? total : m) + ")", 2, h - 14);
 		renderer.endRendering();
 	}
 
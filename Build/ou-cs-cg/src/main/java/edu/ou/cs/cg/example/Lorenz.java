@@ -19,6 +19,21 @@
 // mode vertex attribute specification, for sake of easier classroom learning.
 // See www.khronos.org/opengl/wiki/Legacy_OpenGL
 //
+// The trajectory always starts from the same point, so the first m points are
+// the same in every frame. They're integrated once, into a VertexBatch that
+// keeps growing, and each frame only integrates the points past the end of it
+// and draws the first m. After the point count first reaches its cap, nothing
+// more is integrated, and the batch is never uploaded again.
+//
+// The integrator and its step size can be given on the command line:
+//
+//   lorenz [euler|rk4|rk45 [step [tolerance]]]
+//
+// The default is Euler with a step of 0.01, as originally. RK4 or RK45 with
+// a step of 0.02 or more traces the same attractor with fewer points. See
+// LorenzSystem. Arguments that don't parse or are out of range print what's
+// wrong and the usage, and exit with status 1.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.example;
@@ -35,6 +50,8 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.LorenzSystem;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -66,6 +83,10 @@ public final class Lorenz
 
 	private int				m = 1;			// Number of points to draw
 
+	// Trajectory integrated so far, and the position after its last point
+	private final VertexBatch	trajectory = new VertexBatch(1024, false);
+	private final LorenzSystem	system;
+
 	//**********************************************************************
 	// Main
 	//**********************************************************************
@@ -81,6 +102,7 @@ public final class Lorenz
 
 	public Lorenz(String[] args)
 	{
+		system = createSystem(args);
 	}
 
 	//**********************************************************************
@@ -152,6 +174,8 @@ public final class Lorenz
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		trajectory.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
@@ -225,34 +249,24 @@ public final class Lorenz
 	// www.algosome.com/articles/lorenz-attractor-programming-code.html
 	private void	drawLorenzAttractor(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
+		if (trajectory.getSize() < m)
+			extendTrajectory(m - trajectory.getSize());
 
-		double		dt = 0.01;					// Integration step size
-		double		sigma = 10.0;				// Constant for updating x
-		double		rho = 28.0;				// Constant for updating y
-		double		beta = 8.0 / 3.0;			// Constant for updating z
-		double		lx = 0.1;					// Initial x coordinate
-		double		ly = 0.0;					// Initial y coordinate
-		double		lz = 0.0;					// Initial z coordinate
+		trajectory.draw(gl, GL.GL_POINTS, 0, m);
+	}
 
-		for (int i=0; i<m; i++)
+	// Integrates n more points onto the end of the trajectory.
+	private void	extendTrajectory(int n)
+	{
+		for (int i=0; i<n; i++)
 		{
-			double	llx = lx + dt * sigma * (ly - lx);
-			double	lly = ly + dt * (lx * (rho - lz) - ly);
-			double	llz = lz + dt * (lx * ly - beta * lz);
-
-			lx = llx;
-			ly = lly;
-			lz = llz;
-			//System.out.println(" " + lx + " " + ly + " " + lz);
+			system.step();
 
-			float	cc = (float)((lz + 30.0) / 60.0);
+			float	cc = (float)((system.getZ() + 30.0) / 60.0);
 
-			gl.glColor3f(cc, cc, cc);			// Draw in gray, depth-scaled
-			gl.glVertex2d(lx / 30.0, ly / 30.0);
+			trajectory.color(cc, cc, cc);		// Draw in gray, depth-scaled
+			trajectory.add(system.getX() / 30.0, system.getY() / 30.0);
 		}
-
-		gl.glEnd();
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -262,9 +276,32 @@ public final class Lorenz
 	{
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
-		renderer.draw("Lorenz Attractor (Points: " + m + ")", 2, h - 14);
+		renderer.draw("Lorenz Attractor (Points: " + m + ", " +
+					  system.getMethod() + ")", 2, h - 14);
 		renderer.endRendering();
 	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Makes the Lorenz system from the arguments, starting at (0.1, 0, 0).
+	// Prints what's wrong and the usage, then exits, if they're bad.
+	private static LorenzSystem	createSystem(String[] args)
+	{
+		try
+		{
+			return LorenzSystem.fromArgs(args, 0.1, 0.0, 0.0);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println("lorenz: " + ex.getMessage());
+			System.err.println("Usage: lorenz " + LorenzSystem.USAGE);
+			System.exit(1);
+
+			return null;
+		}
+	}
 }
 
 //******************************************************************************
@@ -19,6 +19,27 @@
 // mode vertex attribute specification, for sake of easier classroom learning.
 // See www.khronos.org/opengl/wiki/Legacy_OpenGL
 //
+// The Sierpinski points come from SierpinskiPoints, laid out by address in
+// the 3^DEPTH cells of the gasket, PER_CELL points each, not from the chaos
+// game that Gasket still plays with ChaosGame. Culling cells needs each cell's
+// points together in the buffer, and random points aren't. They're generated
+// once, for the canonical triangle with corners (0,0), (1,0), and (0,1), and
+// kept in a VertexBatch's VBO.
+//
+// All six levels draw from that one batch. The base triangle is stored in the
+// canonical triangle too, so one SierpinskiPoints.affine() matrix per frame
+// places both it and the points in every level. It and the gray lines of
+// every level are refilled after the points each frame, which uploads only
+// those few vertices. The VBO is bound once per frame, and each level just
+// sets its viewport and loads its projection matrix, which a TransformCache
+// computes on the CPU instead of a new GLU.
+//
+// Each level spends m points on only the cells that overlap its bounds,
+// found by SierpinskiPoints.cull(), and draws the first m / n points of each
+// of the n cells. Deeper levels see fewer cells, so they get more points per
+// cell (up to PER_CELL) and show more detail, for the same number of points.
+// The cells' ranges of points go to one glMultiDrawArrays() call per level.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.example;
@@ -31,10 +52,12 @@ import java.util.Random;
 import javax.swing.*;
 import com.jogamp.opengl.*;
 import com.jogamp.opengl.awt.*;
-import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.SierpinskiPoints;
+import edu.ou.cs.cg.utilities.TransformCache;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -54,6 +77,23 @@ public final class Viewgrid
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		DEPTH = 4;					// Of cells
+	private static final int		CELLS = SierpinskiPoints.cellCount(DEPTH);
+	private static final int		PER_CELL = 6561;			// 3^8 points
+	private static final int		MAX_POINTS = CELLS * PER_CELL;
+	private static final int		LEVELS = 6;					// Zoom levels
+	private static final int		LINES = MAX_POINTS + 3;		// In batch
+
+	// Corners of the canonical triangle, mapped onto the base triangle
+	private static final double[]	CANONICAL = new double[]
+	{
+		0.0, 0.0, 1.0, 0.0, 0.0, 1.0,
+	};
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -71,6 +111,18 @@ public final class Viewgrid
 	private int				cmode = 0;		// Color mode [0-2]
 	private int				vmode = 0;		// Vertex mode [0-2]
 
+	// Sierpinski points, generated once and drawn by cell
+	private final SierpinskiPoints	lattice = new SierpinskiPoints();
+	private final int[]		cells = new int[CELLS];	// Visible cells
+	private final int[]		first = new int[CELLS];	// Ranges to draw
+	private final int[]		count = new int[CELLS];
+
+	// Points, then the base triangle, then bounds and insets for each level
+	private final VertexBatch	batch =
+		new VertexBatch(LINES + 8 * LEVELS, false);
+	private final TransformCache	transform = new TransformCache();
+	private final double[]		matrix = new double[16];	// To load in GL
+
 	//**********************************************************************
 	// Main
 	//**********************************************************************
@@ -157,6 +209,8 @@ public final class Viewgrid
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		batch.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
@@ -214,25 +268,55 @@ public final class Viewgrid
 		float	ymin = -2.0f;	// but keep a fixed 1:1 aspect ratio when the
 		float	ymax = 2.0f;	// size of the screen space (canvas) changes.
 
-		int	n = 6;					// Number of zoom levels
+		int		n = LEVELS;					// Number of zoom levels
+		float[]	v = new float[4 * (n + 1)];	// Bounds of each level
 
-		for (int i=0; i<n; i++)				// Draw each level
+		for (int i=0; i<=n; i++)				// Find bounds of each level
 		{
-			setProjectionAndViewport(gl, i, n, xmin, xmax, ymin, ymax);
-
-			drawBaseTriangle(gl);				// Draw a colored triangle
-			drawSierpinskiTriangle(gl);		// Draw a Sierpinski triangle
+			v[4 * i] = xmin;
+			v[4 * i + 1] = xmax;
+			v[4 * i + 2] = ymin;
+			v[4 * i + 3] = ymax;
 
 			// Zoom by x2 and offset a little to make levels more interesting
 			xmin *= 0.5f + 0.02f;
 			xmax *= 0.5f + 0.02f;
 			ymin *= 0.5f + 0.02f;
 			ymax *= 0.5f + 0.02f;
+		}
+
+		loadBatch(v, n);						// Refill all but the points
+
+		Point2D.Double[]	t = new Point2D.Double[3];
+
+		calcVertices(t, vmode);
+
+		double[]	corners = new double[]
+		{
+			t[0].x, t[0].y, t[1].x, t[1].y, t[2].x, t[2].y,
+		};
+
+		double[]	a = SierpinskiPoints.affine(corners);	// From canonical
+
+		batch.bind(gl);
+
+		for (int i=0; i<n; i++)				// Draw each level
+		{
+			setProjectionAndViewport(gl, i, n, v[4 * i], v[4 * i + 1],
+									 v[4 * i + 2], v[4 * i + 3]);
+
+			gl.glLoadMatrixd(a, 0);			// Map from canonical triangle
+			drawBaseTriangle(gl);				// Draw a colored triangle
+			drawSierpinskiTriangle(gl, corners, v[4 * i], v[4 * i + 1],
+								   v[4 * i + 2], v[4 * i + 3]);
 
-			drawBounds(gl, xmin, xmax, ymin, ymax);	// Draw a bounding box
-			drawInsets(gl, xmin, xmax, ymin, ymax);	// Draw inset lines
+			gl.glLoadIdentity();
+			drawBounds(gl, i);					// Draw a bounding box
+			drawInsets(gl, i);					// Draw inset lines
 		}
 
+		batch.unbind(gl);
+
 		//drawText(drawable);					// Draw some text
 
 		gl.glFlush();							// Finish and display
@@ -242,17 +326,17 @@ public final class Viewgrid
 	// Private Methods (Pipeline)
 	//**********************************************************************
 
+	// Leaves the matrix mode set to modelview.
 	private void	setProjectionAndViewport(GL2 gl, int k, int n, float xmin,
 											 float xmax, float ymin, float ymax)
 	{
-		GLU	glu = GLU.createGLU();
+		transform.setOrtho2D(xmin, xmax, ymin, ymax);	// Same as gluOrtho2D
+		transform.getProjection(matrix, 0);
 
 		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
-		gl.glLoadIdentity();						// Set to identity matrix
-		glu.gluOrtho2D(xmin, xmax, ymin, ymax);	// 2D translate + scale
+		gl.glLoadMatrixd(matrix, 0);				// 2D translate + scale
 
 		gl.glMatrixMode(GL2.GL_MODELVIEW);
-		gl.glLoadIdentity();
 		gl.glViewport(k * w / n, 0, w / n - 8, h);	// N ports left to right
 	}
 
@@ -260,89 +344,93 @@ public final class Viewgrid
 	// Private Methods (Scene)
 	//**********************************************************************
 
-	// Update the vertices and vertex colors of the base triangle, and draw it.
+	// Draw the base triangle, with the canonical triangle mapped onto it.
 	private void	drawBaseTriangle(GL2 gl)
 	{
-		gl.glBegin(GL.GL_TRIANGLES);
-
-		Point2D.Double[]	t = new Point2D.Double[3];
-		Color[]			rgb = new Color[3];
-
-		calcColors(rgb, cmode);
-		calcVertices(t, vmode);
-
-		float[]			rgb1 = rgb[0].getRGBColorComponents(null);
-		float[]			rgb2 = rgb[1].getRGBColorComponents(null);
-		float[]			rgb3 = rgb[2].getRGBColorComponents(null);
+		batch.drawBound(gl, GL.GL_TRIANGLES, MAX_POINTS, 3);
+	}
 
-		gl.glColor3f(rgb1[0], rgb1[1], rgb1[2]);
-		gl.glVertex2d(t[0].x, t[0].y);
+	// Draw a Sierpinski gasket inside the base triangle, with the canonical
+	// triangle mapped onto it. Spends m points on the cells in the bounds.
+	// This page is helpful: en.wikipedia.org/wiki/Sierpinski_triangle
+	private void	drawSierpinskiTriangle(GL2 gl, double[] corners,
+										   float xmin, float xmax,
+										   float ymin, float ymax)
+	{
+		int	n = SierpinskiPoints.cull(corners, xmin, xmax, ymin, ymax,
+									  DEPTH, cells);
 
-		gl.glColor3f(rgb2[0], rgb2[1], rgb2[2]);
-		gl.glVertex2d(t[1].x, t[1].y);
+		if (n == 0)
+			return;
 
-		gl.glColor3f(rgb3[0], rgb3[1], rgb3[2]);
-		gl.glVertex2d(t[2].x, t[2].y);
+		int	p = Math.min(PER_CELL, Math.max(1, m / n));	// Points per cell
+		int	r = SierpinskiPoints.runs(cells, n, PER_CELL, p, first, count);
 
-		gl.glEnd();
+		batch.drawBound(gl, GL.GL_POINTS, first, count, r);	// In one call
 	}
 
-	// Draw a Sierpinski gasket inside the base triangle. This page is helpful:
-	// en.wikipedia.org/wiki/Sierpinski_triangle
-	private void	drawSierpinskiTriangle(GL2 gl)
+	// Draw the bounds of the next level inside level i.
+	private void	drawBounds(GL2 gl, int i)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
-
-		Point2D.Double[]	t = new Point2D.Double[3];
-		Point2D.Double		p = new Point2D.Double(c, c);
+		batch.drawBound(gl, GL.GL_LINE_LOOP, LINES + 8 * i, 4);
+	}
 
-		calcVertices(t, vmode);
+	// Draw lines from the bounds of the next level toward level i's.
+	private void	drawInsets(GL2 gl, int i)
+	{
+		batch.drawBound(gl, GL.GL_LINES, LINES + 8 * i + 4, 4);
+	}
 
-		p.x = t[0].x;							// Initial x coordinate
-		p.y = t[0].y;							// Initial y coordinate
+	//**********************************************************************
+	// Private Methods (Vertices)
+	//**********************************************************************
 
-		for (int i=0; i<m; i++)
+	// Update the vertices after the points: the base triangle in canonical
+	// coordinates, then the bounds and insets of each level, using the bounds
+	// of the level after it. Generates the points first if there are none.
+	private void	loadBatch(float[] v, int n)
+	{
+		if (batch.isEmpty())					// Generate points once
 		{
-			int	index = RANDOM.nextInt(3);
-
-			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triable
-			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
-			//System.out.println(" " + index + " " + p.x + " " + p.y);
+			float[]	uv = lattice.layout(DEPTH, PER_CELL, null);
 
-			gl.glVertex2d(p.x, p.y);
+			batch.color(1.0f, 1.0f, 1.0f);		// Draw in white
+			batch.load(uv, 0, MAX_POINTS);
 		}
 
-		gl.glEnd();
-	}
-
-	private void	drawBounds(GL2 gl, float xmin, float xmax,
-							   float ymin, float ymax)
-	{
-		gl.glColor3f(0.5f, 0.5f, 0.5f);		// Draw in medium gray
-		gl.glBegin(GL.GL_LINE_LOOP);
+		batch.truncate(MAX_POINTS);
 
-		gl.glVertex2d(xmax, ymax);
-		gl.glVertex2d(xmin, ymax);
-		gl.glVertex2d(xmin, ymin);
-		gl.glVertex2d(xmax, ymin);
+		Color[]	rgb = new Color[3];
 
-		gl.glEnd();
-	}
+		calcColors(rgb, cmode);
 
-	private void	drawInsets(GL2 gl, float xmin, float xmax,
-							   float ymin, float ymax)
-	{
-		gl.glColor3f(0.5f, 0.5f, 0.5f);		// Draw in medium gray
-		gl.glBegin(GL.GL_LINES);
+		for (int i=0; i<3; i++)
+		{
+			float[]	c = rgb[i].getRGBColorComponents(null);
 
-		gl.glVertex2d(xmin, ymax);
-		gl.glVertex2d(xmax * 2.0f - 0.02f, ymax * 2.0f - 0.02f);
+			batch.color(c[0], c[1], c[2]);
+			batch.add(CANONICAL[2 * i], CANONICAL[2 * i + 1]);
+		}
 
-		gl.glVertex2d(xmin, ymin);
-		gl.glVertex2d(xmax * 2.0f - 0.02f, ymin * 2.0f - 0.02f);
+		batch.color(0.5f, 0.5f, 0.5f);			// Draw in medium gray
 
-		gl.glEnd();
+		for (int i=0; i<n; i++)
+		{
+			float	xmin = v[4 * i + 4];
+			float	xmax = v[4 * i + 5];
+			float	ymin = v[4 * i + 6];
+			float	ymax = v[4 * i + 7];
+
+			batch.add(xmax, ymax);				// Bounds
+			batch.add(xmin, ymax);
+			batch.add(xmin, ymin);
+			batch.add(xmax, ymin);
+
+			batch.add(xmin, ymax);				// Insets
+			batch.add(xmax * 2.0f - 0.02f, ymax * 2.0f - 0.02f);
+			batch.add(xmin, ymin);
+			batch.add(xmax * 2.0f - 0.02f, ymin * 2.0f - 0.02f);
+		}
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -19,6 +19,22 @@
 // mode vertex attribute specification, for sake of easier classroom learning.
 // See www.khronos.org/opengl/wiki/Legacy_OpenGL
 //
+// The Sierpinski points come from SierpinskiPoints, laid out by address in
+// the 3^DEPTH cells of the gasket, PER_CELL points each, not from the chaos
+// game that Gasket still plays with ChaosGame. Culling cells needs each cell's
+// points together in the buffer, and random points aren't. They're generated
+// once, for the canonical triangle with corners (0,0), (1,0), and (0,1), and
+// kept in a VertexBatch's VBO. drawSierpinskiTriangle() culls the cells
+// against the current corners, then pushes SierpinskiPoints.affine() of those
+// corners onto the modelview for the draw and pops it after, which leaves the
+// immediate-mode base triangle and bounds as they were.
+//
+// The bounds show only part of the gasket, so the m points are spent on the
+// cells that overlap them, found by SierpinskiPoints.cull(), drawing the
+// first m / n points of each of the n cells (up to PER_CELL). Fewer cells in
+// view means more detail in each, for the same number of points. All of the
+// cells' ranges of points are drawn with one glMultiDrawArrays() call.
+//
 //******************************************************************************
 
 package edu.ou.cs.cg.example;
@@ -35,6 +51,8 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.SierpinskiPoints;
+import edu.ou.cs.cg.utilities.VertexBatch;
 
 //******************************************************************************
 
@@ -54,6 +72,15 @@ public final class Viewport
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		DEPTH = 4;					// Of cells
+	private static final int		CELLS = SierpinskiPoints.cellCount(DEPTH);
+	private static final int		PER_CELL = 6561;			// 3^8 points
+	private static final int		MAX_POINTS = CELLS * PER_CELL;
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -71,6 +98,13 @@ public final class Viewport
 	private int				cmode = 0;		// Color mode [0-2]
 	private int				vmode = 0;		// Vertex mode [0-2]
 
+	// Sierpinski points, generated once and drawn by cell
+	private final SierpinskiPoints	lattice = new SierpinskiPoints();
+	private final int[]		cells = new int[CELLS];	// Visible cells
+	private final int[]		first = new int[CELLS];	// Ranges to draw
+	private final int[]		count = new int[CELLS];
+	private final VertexBatch	points = new VertexBatch(MAX_POINTS, false);
+
 	//**********************************************************************
 	// Main
 	//**********************************************************************
@@ -157,6 +191,8 @@ public final class Viewport
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		points.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
@@ -219,7 +255,7 @@ public final class Viewport
 
 		fillBounds(gl, xmin, xmax, ymin, ymax);	// Fill a bounding box
 		drawBaseTriangle(gl);					// Draw a colored triangle
-		drawSierpinskiTriangle(gl);			// Draw a Sierpinski triangle
+		drawSierpinskiTriangle(gl, xmin, xmax, ymin, ymax);	// And gasket
 		edgeBounds(gl, xmin, xmax-xoff, ymin, ymax);	// Draw a bounding box
 		//drawText(drawable);					// Draw some text
 
@@ -278,33 +314,50 @@ public final class Viewport
 		gl.glEnd();
 	}
 
-	// Draw a Sierpinski gasket inside the base triangle. This page is helpful:
+	// Draw a Sierpinski gasket inside the base triangle, spending m points on
+	// the cells in the bounds. This page is helpful:
 	// en.wikipedia.org/wiki/Sierpinski_triangle
-	private void	drawSierpinskiTriangle(GL2 gl)
+	private void	drawSierpinskiTriangle(GL2 gl, float xmin, float xmax,
+										   float ymin, float ymax)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
+		if (points.isEmpty())					// Generate points once
+		{
+			float[]	uv = lattice.layout(DEPTH, PER_CELL, null);
+
+			points.color(1.0f, 1.0f, 1.0f);	// Draw in white
+			points.load(uv, 0, MAX_POINTS);
+		}
 
 		Point2D.Double[]	t = new Point2D.Double[3];
-		Point2D.Double		p = new Point2D.Double(c, c);
 
 		calcVertices(t, vmode);
 
-		p.x = t[0].x;							// Initial x coordinate
-		p.y = t[0].y;							// Initial y coordinate
-
-		for (int i=0; i<m; i++)
+		double[]			corners = new double[]
 		{
-			int	index = RANDOM.nextInt(3);
+			t[0].x, t[0].y, t[1].x, t[1].y, t[2].x, t[2].y,
+		};
 
-			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triable
-			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
-			//System.out.println(" " + index + " " + p.x + " " + p.y);
+		int	n = SierpinskiPoints.cull(corners, xmin, xmax, ymin, ymax,
+									  DEPTH, cells);
 
-			gl.glVertex2d(p.x, p.y);
-		}
+		if (n == 0)
+			return;
 
-		gl.glEnd();
+		// Map the canonical corners (0,0), (1,0), (0,1) onto t[0], t[1], t[2]
+		double[]			a = SierpinskiPoints.affine(corners);
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glMultMatrixd(a, 0);
+
+		int	p = Math.min(PER_CELL, Math.max(1, m / n));	// Points per cell
+		int	r = SierpinskiPoints.runs(cells, n, PER_CELL, p, first, count);
+
+		points.bind(gl);
+		points.drawBound(gl, GL.GL_POINTS, first, count, r);	// In one call
+		points.unbind(gl);
+
+		gl.glPopMatrix();
 	}
 
 	private void	fillBounds(GL2 gl, float xmin, float xmax,
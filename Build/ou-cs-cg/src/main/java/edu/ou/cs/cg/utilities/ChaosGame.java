@@ -0,0 +1,226 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Generates points of a Sierpinski gasket by the chaos game: start at the
+// first corner of a triangle, then repeatedly move halfway to a randomly
+// chosen corner. Points go into a float[] as interleaved x,y pairs, ready to
+// hand to a VertexBatch in one call.
+//
+// The examples did this with the shared java.util.Random, which is
+// synchronized and makes one call per point. Here each run of points has its
+// own SplittableRandom, and each 64 random bits choose up to 32 corners, two
+// bits at a time (rejecting 3, so the choices stay uniform).
+//
+// Points are generated in chunks of CHUNK. Every chunk starts again from the
+// first corner, which is itself a point of the gasket, so every point lies on
+// the gasket just as in the serial version. The chunks are independent, so in
+// parallel mode they run on the common ForkJoinPool. The random generators of
+// the chunks are split from the game's generator in order before any chunk
+// runs, so the points for a given seed are the same serial or parallel.
+//
+// Restarting at the corner means the first few points of each chunk bunch up
+// near it. That's invisible when drawing points, but shows up as a hot spot
+// when hits are counted over many frames. Set a warmup to discard that many
+// points at the start of each chunk; after about 32, a point is as good as a
+// random point of the gasket, down to float precision.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ChaosGame</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class ChaosGame
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		CHUNK = 1 << 13;		// Points per chunk
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final SplittableRandom	random;
+	private boolean				parallel;
+	private int					warmup;		// Points to skip per chunk
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public ChaosGame()
+	{
+		random = new SplittableRandom();
+		parallel = false;
+		warmup = 0;
+	}
+
+	public ChaosGame(long seed)
+	{
+		random = new SplittableRandom(seed);
+		parallel = false;
+		warmup = 0;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public boolean	getParallel()
+	{
+		return parallel;
+	}
+
+	public void	setParallel(boolean v)
+	{
+		parallel = v;
+	}
+
+	public int	getWarmup()
+	{
+		return warmup;
+	}
+
+	public void	setWarmup(int v)
+	{
+		warmup = Math.max(0, v);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Generates m points inside the triangle with corners t = {x0, y0, x1,
+	// y1, x2, y2} into xy. Returns xy, or a larger array if xy can't hold m
+	// points.
+	public float[]	generate(double[] t, int m, float[] xy)
+	{
+		if ((xy == null) || (xy.length < 2 * m))
+			xy = new float[2 * m];
+
+		int				chunks = (m + CHUNK - 1) / CHUNK;
+		SplittableRandom[]	randoms = new SplittableRandom[chunks];
+
+		for (int i=0; i<chunks; i++)
+			randoms[i] = random.split();
+
+		if (parallel && (chunks > 1))
+			ForkJoinPool.commonPool().invoke(
+				new ChunkTask(t, m, xy, randoms, warmup, 0, chunks));
+		else
+			for (int i=0; i<chunks; i++)
+				generate(t, i * CHUNK, Math.min(m, (i + 1) * CHUNK), xy,
+						 randoms[i], warmup);
+
+		return xy;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Generates points lo to hi from the first corner, after skipping the
+	// given number of points.
+	private static void	generate(double[] t, int lo, int hi, float[] xy,
+									 SplittableRandom random, int warmup)
+	{
+		double	px = t[0];							// Initial x coordinate
+		double	py = t[1];							// Initial y coordinate
+		long	bits = 0L;
+		int		left = 0;							// Choices left in bits
+
+		for (int i=lo-warmup; i<hi; )
+		{
+			if (left == 0)
+			{
+				bits = random.nextLong();
+				left = 32;
+			}
+
+			int	index = (int)(bits & 3L);
+
+			bits >>>= 2;
+			left--;
+
+			if (index == 3)							// Reject to stay uniform
+				continue;
+
+			px = (px + t[2 * index]) * 0.5;			// Fold x,y inside base
+			py = (py + t[2 * index + 1]) * 0.5;		// triangle toward corner
+
+			if (i >= lo)
+			{
+				xy[2 * i] = (float)px;
+				xy[2 * i + 1] = (float)py;
+			}
+
+			i++;
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Generates a range of chunks, splitting it in half until it's one.
+	private static final class ChunkTask extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final double[]				t;
+		private final int					m;
+		private final float[]				xy;
+		private final SplittableRandom[]	randoms;
+		private final int					warmup;
+		private final int					lo;		// First chunk
+		private final int					hi;		// Past last chunk
+
+		public ChunkTask(double[] t, int m, float[] xy,
+						 SplittableRandom[] randoms, int warmup, int lo, int hi)
+		{
+			this.t = t;
+			this.m = m;
+			this.xy = xy;
+			this.randoms = randoms;
+			this.warmup = warmup;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		protected void	compute()
+		{
+			if (hi - lo == 1)
+			{
+				generate(t, lo * CHUNK, Math.min(m, hi * CHUNK), xy,
+						 randoms[lo], warmup);
+				return;
+			}
+
+			int	mid = (lo + hi) >>> 1;
+
+			invokeAll(new ChunkTask(t, m, xy, randoms, warmup, lo, mid),
+					  new ChunkTask(t, m, xy, randoms, warmup, mid, hi));
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,486 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A point moving through the Lorenz system
+//
+//   dx/dt = sigma * (y - x)
+//   dy/dt = x * (rho - z) - y
+//   dz/dt = x * y - beta * z
+//
+// advanced one step at a time by one of three integrators:
+//
+//   EULER	Forward Euler with a fixed step. Cheapest per step, but needs
+//			small steps to stay near the true trajectory. This is what the
+//			examples originally did, and it gives exactly the same points.
+//   RK4		Classic fourth-order Runge-Kutta with a fixed step. Four
+//			derivative evaluations per step, but a step several times
+//			larger than Euler's gives a much more accurate trajectory.
+//   RK45	Dormand-Prince 5(4) with adaptive steps. Each step is as long
+//			as it can be while keeping the estimated local error within the
+//			tolerance, so the points spread out where the trajectory is
+//			smooth and bunch up in the tight turns. The last evaluation of
+//			a step is reused as the first of the next.
+//
+// For RK45, the step passed in is only the first one tried. Steps are kept
+// between MIN_STEP and MAX_STEP_SCALE times the initial step, so points don't
+// get too far apart to draw.
+//
+// See en.wikipedia.org/wiki/Lorenz_system and
+// en.wikipedia.org/wiki/Dormand%E2%80%93Prince_method
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.util.Locale;
+
+//******************************************************************************
+
+/**
+ * The <CODE>LorenzSystem</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class LorenzSystem
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final double		DEFAULT_SIGMA = 10.0;
+	public static final double		DEFAULT_RHO = 28.0;
+	public static final double		DEFAULT_BETA = 8.0 / 3.0;
+
+	public static final double		DEFAULT_STEP = 0.01;
+	public static final double		DEFAULT_TOLERANCE = 1.0e-6;
+
+	public static final double		MIN_STEP = 1.0e-6;
+	public static final double		MAX_STEP_SCALE = 10.0;
+
+	// Largest step and tolerance accepted from the command line. Euler and
+	// RK4 fly off the attractor with longer steps.
+	public static final double		MAX_ARG_STEP = 0.1;
+	public static final double		MAX_ARG_TOLERANCE = 1.0;
+
+	// Arguments taken by fromArgs()
+	public static final String		USAGE =
+		"[euler|rk4|rk45 [step [tolerance]]]";
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Dormand-Prince coefficients. A*: stages, B*: 5th order solution,
+	// E*: difference between the 5th and 4th order solutions.
+	private static final double	A21 = 1.0 / 5.0;
+	private static final double	A31 = 3.0 / 40.0;
+	private static final double	A32 = 9.0 / 40.0;
+	private static final double	A41 = 44.0 / 45.0;
+	private static final double	A42 = -56.0 / 15.0;
+	private static final double	A43 = 32.0 / 9.0;
+	private static final double	A51 = 19372.0 / 6561.0;
+	private static final double	A52 = -25360.0 / 2187.0;
+	private static final double	A53 = 64448.0 / 6561.0;
+	private static final double	A54 = -212.0 / 729.0;
+	private static final double	A61 = 9017.0 / 3168.0;
+	private static final double	A62 = -355.0 / 33.0;
+	private static final double	A63 = 46732.0 / 5247.0;
+	private static final double	A64 = 49.0 / 176.0;
+	private static final double	A65 = -5103.0 / 18656.0;
+
+	private static final double	B1 = 35.0 / 384.0;
+	private static final double	B3 = 500.0 / 1113.0;
+	private static final double	B4 = 125.0 / 192.0;
+	private static final double	B5 = -2187.0 / 6784.0;
+	private static final double	B6 = 11.0 / 84.0;
+
+	private static final double	E1 = 71.0 / 57600.0;
+	private static final double	E3 = -71.0 / 16695.0;
+	private static final double	E4 = 71.0 / 1920.0;
+	private static final double	E5 = -17253.0 / 339200.0;
+	private static final double	E6 = 22.0 / 525.0;
+	private static final double	E7 = -1.0 / 40.0;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Parameters
+	private final double			sigma;
+	private final double			rho;
+	private final double			beta;
+
+	private final Method			method;
+	private final double			tolerance;		// RK45 only
+	private final double			maxStep;		// RK45 only
+
+	// State
+	private double					x;
+	private double					y;
+	private double					z;
+	private double					t;				// Time integrated
+	private double					h;				// Next step size
+	private long					evaluations;	// Of the derivative
+
+	// Stage derivatives, 3 per stage. k[0..2] is the derivative at the
+	// current point when fsal is true.
+	private final double[]			k = new double[21];
+	private boolean				fsal;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Starts at the point (x, y, z) with the default parameters.
+	public LorenzSystem(Method method, double step, double tolerance,
+						double x, double y, double z)
+	{
+		this(DEFAULT_SIGMA, DEFAULT_RHO, DEFAULT_BETA,
+			 method, step, tolerance, x, y, z);
+	}
+
+	public LorenzSystem(double sigma, double rho, double beta,
+						Method method, double step, double tolerance,
+						double x, double y, double z)
+	{
+		if (!(step > 0.0) || !(tolerance > 0.0))
+			throw new IllegalArgumentException("Step and tolerance must be " +
+											   "positive");
+
+		this.sigma = sigma;
+		this.rho = rho;
+		this.beta = beta;
+
+		this.method = method;
+		this.tolerance = tolerance;
+
+		maxStep = Math.max(step, MAX_STEP_SCALE * step);
+		h = Math.max(step, MIN_STEP);
+
+		reset(x, y, z);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public double	getSigma()
+	{
+		return sigma;
+	}
+
+	public double	getRho()
+	{
+		return rho;
+	}
+
+	public double	getBeta()
+	{
+		return beta;
+	}
+
+	public Method	getMethod()
+	{
+		return method;
+	}
+
+	public double	getTolerance()
+	{
+		return tolerance;
+	}
+
+	public double	getX()
+	{
+		return x;
+	}
+
+	public double	getY()
+	{
+		return y;
+	}
+
+	public double	getZ()
+	{
+		return z;
+	}
+
+	// Time integrated since the last reset.
+	public double	getTime()
+	{
+		return t;
+	}
+
+	// The size of the next step. Only changes with RK45.
+	public double	getStep()
+	{
+		return h;
+	}
+
+	// Derivative evaluations since the last reset, including rejected
+	// RK45 steps. A measure of the work done.
+	public long	getEvaluations()
+	{
+		return evaluations;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Moves to the point (x, y, z) and restarts the time. Keeps the step.
+	public void	reset(double x, double y, double z)
+	{
+		this.x = x;
+		this.y = y;
+		this.z = z;
+
+		t = 0.0;
+		evaluations = 0;
+		fsal = false;
+	}
+
+	// Advances one step. Returns the length of the step.
+	public double	step()
+	{
+		switch (method)
+		{
+			case EULER:	return stepEuler();
+			case RK4:	return stepRK4();
+			default:	return stepRK45();
+		}
+	}
+
+	// Advances count steps, putting the x, y, z of each new point into
+	// xyz starting at offset.
+	public void	step(int count, double[] xyz, int offset)
+	{
+		for (int i=0, j=offset; i<count; i++, j+=3)
+		{
+			step();
+
+			xyz[j] = x;
+			xyz[j + 1] = y;
+			xyz[j + 2] = z;
+		}
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Makes a system starting at (x, y, z) with the method, step, and
+	// tolerance given by command line arguments as in USAGE, or the defaults
+	// for any left out. Throws an IllegalArgumentException that says what's
+	// wrong if an argument doesn't parse or is out of range.
+	public static LorenzSystem	fromArgs(String[] args,
+										 double x, double y, double z)
+	{
+		Method	method = Method.EULER;
+		double	step = DEFAULT_STEP;
+		double	tolerance = DEFAULT_TOLERANCE;
+
+		if (args.length > 3)
+			throw new IllegalArgumentException("too many arguments");
+
+		if (args.length > 0)
+		{
+			try
+			{
+				method = Method.parse(args[0]);
+			}
+			catch (IllegalArgumentException ex)
+			{
+				throw new IllegalArgumentException("unknown method: " +
+												   args[0]);
+			}
+		}
+
+		try
+		{
+			if (args.length > 1)
+				step = Double.parseDouble(args[1]);
+
+			if (args.length > 2)
+				tolerance = Double.parseDouble(args[2]);
+		}
+		catch (NumberFormatException ex)
+		{
+			throw new IllegalArgumentException("not a number: " +
+											   ex.getMessage());
+		}
+
+		if (!(step >= MIN_STEP) || !(step <= MAX_ARG_STEP))
+			throw new IllegalArgumentException("step must be " + MIN_STEP +
+											   " to " + MAX_ARG_STEP);
+
+		if (!(tolerance > 0.0) || !(tolerance <= MAX_ARG_TOLERANCE))
+			throw new IllegalArgumentException("tolerance must be more " +
+											   "than 0 and at most " +
+											   MAX_ARG_TOLERANCE);
+
+		return new LorenzSystem(method, step, tolerance, x, y, z);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private double	stepEuler()
+	{
+		// Same expressions as the original examples, to get the same points
+		double	xx = x + h * sigma * (y - x);
+		double	yy = y + h * (x * (rho - z) - y);
+		double	zz = z + h * (x * y - beta * z);
+
+		x = xx;
+		y = yy;
+		z = zz;
+
+		t += h;
+		evaluations++;
+
+		return h;
+	}
+
+	private double	stepRK4()
+	{
+		double	hh = 0.5 * h;
+
+		derivative(x, y, z, 0);
+		derivative(x + hh * k[0], y + hh * k[1], z + hh * k[2], 3);
+		derivative(x + hh * k[3], y + hh * k[4], z + hh * k[5], 6);
+		derivative(x + h * k[6], y + h * k[7], z + h * k[8], 9);
+
+		double	h6 = h / 6.0;
+
+		x += h6 * (k[0] + 2.0 * (k[3] + k[6]) + k[9]);
+		y += h6 * (k[1] + 2.0 * (k[4] + k[7]) + k[10]);
+		z += h6 * (k[2] + 2.0 * (k[5] + k[8]) + k[11]);
+
+		t += h;
+
+		return h;
+	}
+
+	private double	stepRK45()
+	{
+		if (!fsal)
+		{
+			derivative(x, y, z, 0);
+			fsal = true;
+		}
+
+		while (true)
+		{
+			double[]	p = k;
+
+			derivative(x + h * (A21 * p[0]),
+					   y + h * (A21 * p[1]),
+					   z + h * (A21 * p[2]), 3);
+			derivative(x + h * (A31 * p[0] + A32 * p[3]),
+					   y + h * (A31 * p[1] + A32 * p[4]),
+					   z + h * (A31 * p[2] + A32 * p[5]), 6);
+			derivative(x + h * (A41 * p[0] + A42 * p[3] + A43 * p[6]),
+					   y + h * (A41 * p[1] + A42 * p[4] + A43 * p[7]),
+					   z + h * (A41 * p[2] + A42 * p[5] + A43 * p[8]), 9);
+			derivative(x + h * (A51 * p[0] + A52 * p[3] + A53 * p[6] +
+								A54 * p[9]),
+					   y + h * (A51 * p[1] + A52 * p[4] + A53 * p[7] +
+								A54 * p[10]),
+					   z + h * (A51 * p[2] + A52 * p[5] + A53 * p[8] +
+								A54 * p[11]), 12);
+			derivative(x + h * (A61 * p[0] + A62 * p[3] + A63 * p[6] +
+								A64 * p[9] + A65 * p[12]),
+					   y + h * (A61 * p[1] + A62 * p[4] + A63 * p[7] +
+								A64 * p[10] + A65 * p[13]),
+					   z + h * (A61 * p[2] + A62 * p[5] + A63 * p[8] +
+								A64 * p[11] + A65 * p[14]), 15);
+
+			// The 5th order solution, which is also the 7th stage point
+			double	xx = x + h * (B1 * p[0] + B3 * p[6] + B4 * p[9] +
+								  B5 * p[12] + B6 * p[15]);
+			double	yy = y + h * (B1 * p[1] + B3 * p[7] + B4 * p[10] +
+								  B5 * p[13] + B6 * p[16]);
+			double	zz = z + h * (B1 * p[2] + B3 * p[8] + B4 * p[11] +
+								  B5 * p[14] + B6 * p[17]);
+
+			derivative(xx, yy, zz, 18);
+
+			// Estimate the local error, scaled by the tolerance
+			double	ex = h * (E1 * p[0] + E3 * p[6] + E4 * p[9] +
+							  E5 * p[12] + E6 * p[15] + E7 * p[18]);
+			double	ey = h * (E1 * p[1] + E3 * p[7] + E4 * p[10] +
+							  E5 * p[13] + E6 * p[16] + E7 * p[19]);
+			double	ez = h * (E1 * p[2] + E3 * p[8] + E4 * p[11] +
+							  E5 * p[14] + E6 * p[17] + E7 * p[20]);
+
+			double	sx = tolerance * (1.0 + Math.max(Math.abs(x), Math.abs(xx)));
+			double	sy = tolerance * (1.0 + Math.max(Math.abs(y), Math.abs(yy)));
+			double	sz = tolerance * (1.0 + Math.max(Math.abs(z), Math.abs(zz)));
+
+			double	err = Math.sqrt(((ex / sx) * (ex / sx) +
+									 (ey / sy) * (ey / sy) +
+									 (ez / sz) * (ez / sz)) / 3.0);
+
+			// Grow or shrink the step for the error to come out near 1
+			double	scale = ((err > 0.0) ? 0.9 * Math.pow(err, -0.2) : 5.0);
+			double	used = h;
+
+			scale = Math.min(5.0, Math.max(0.2, scale));
+			h = Math.min(maxStep, Math.max(MIN_STEP, h * scale));
+
+			if ((err <= 1.0) || (used <= MIN_STEP))
+			{
+				x = xx;
+				y = yy;
+				z = zz;
+
+				t += used;
+
+				// The derivative at the new point starts the next step
+				k[0] = k[18];
+				k[1] = k[19];
+				k[2] = k[20];
+
+				return used;
+			}
+		}
+	}
+
+	// Puts the derivative at (x, y, z) into k, from offset.
+	private void	derivative(double x, double y, double z, int offset)
+	{
+		k[offset] = sigma * (y - x);
+		k[offset + 1] = x * (rho - z) - y;
+		k[offset + 2] = x * y - beta * z;
+
+		evaluations++;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	public enum Method
+	{
+		EULER,
+		RK4,
+		RK45;
+
+		// Parses a method name, ignoring case, as in command line arguments.
+		public static Method	parse(String s)
+		{
+			return valueOf(s.trim().toUpperCase(Locale.ROOT));
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,322 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Generates points of a Sierpinski gasket deterministically, by address,
+// instead of by the chaos game. Point i is where the chaos game lands from the
+// first corner when it moves toward the corners given by the base 3 digits of
+// i, most significant digit first. The least significant digit picks the
+// third of the gasket the point lies in, the next digit the third of that
+// third, and so on. So the first 3^d points are exactly one point in each of
+// the 3^d sub-triangles at depth d, and any prefix of the points covers the
+// gasket as evenly as a prefix can, without waiting for random choices to even
+// out.
+//
+// Dropping the least significant digit gives the point one step earlier, so
+//
+//   p(0) = first corner
+//   p(i) = (p(i / 3) + corner(i % 3)) / 2
+//
+// and each point costs one step from a point that's already been made.
+//
+// Points are made once, in a canonical triangle with corners (0,0), (1,0), and
+// (0,1), and cached. map() moves them to any other triangle, which is an
+// affine map, so the result is the same gasket. The cache grows as needed and
+// never changes, so the points for a given index are the same on every call.
+// To leave the moving to OpenGL instead, draw the canonical points under the
+// modelview matrix from affine(), which does what map() does.
+//
+// For views that show only part of the gasket, layout() and cull() work with
+// cells, the 3^depth sub-triangles at a given depth. A cell's index is its
+// address in base 3, with the digit that picks the third of the gasket most
+// significant, so the cells of any sub-triangle are a run of consecutive
+// indices. layout() fills each cell in turn with the first perCell points
+// scaled down into it, so the first k points of a cell cover it as evenly as
+// the first k points cover the whole gasket. cull() finds the cells whose
+// bounding boxes overlap a window, skipping any sub-triangle outside it
+// without visiting its cells. Drawing the first k points of each visible cell
+// then spends a budget of points on only the part of the gasket in view, with
+// more detail the fewer cells there are. runs() turns those cells into ranges
+// of the layout, merging neighbors when whole cells are drawn.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>SierpinskiPoints</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class SierpinskiPoints
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private float[]			uv;			// Canonical u,v pairs
+	private int				size;		// Points made so far
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public SierpinskiPoints()
+	{
+		uv = new float[2 * 1024];
+		uv[0] = 0.0f;						// The first corner
+		uv[1] = 0.0f;
+		size = 1;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Returns how many points are cached.
+	public int	getSize()
+	{
+		return size;
+	}
+
+	// Returns the cached points as u,v pairs in the canonical triangle. The
+	// array may be longer than getSize() points, and is replaced as it grows.
+	public float[]	getCanonical()
+	{
+		return uv;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Makes sure the first m points are cached.
+	public void	ensure(int m)
+	{
+		if (m <= size)
+			return;
+
+		if (uv.length < 2 * m)
+		{
+			float[]	next = new float[Math.max(2 * m, 2 * uv.length)];
+
+			System.arraycopy(uv, 0, next, 0, 2 * size);
+			uv = next;
+		}
+
+		for (int i=size; i<m; i++)
+		{
+			int	j = 2 * (i / 3);
+			int	d = i % 3;
+
+			// Canonical corners are (0,0), (1,0), (0,1) for digits 0, 1, 2
+			uv[2 * i] = (uv[j] + ((d == 1) ? 1.0f : 0.0f)) * 0.5f;
+			uv[2 * i + 1] = (uv[j + 1] + ((d == 2) ? 1.0f : 0.0f)) * 0.5f;
+		}
+
+		size = m;
+	}
+
+	// Maps the first m points into the triangle with corners t = {x0, y0, x1,
+	// y1, x2, y2} as x,y pairs in xy. Returns xy, or a larger array if xy
+	// can't hold m points.
+	public float[]	map(double[] t, int m, float[] xy)
+	{
+		ensure(m);
+
+		if ((xy == null) || (xy.length < 2 * m))
+			xy = new float[2 * m];
+
+		float	x0 = (float)t[0];
+		float	y0 = (float)t[1];
+		float	ax = (float)(t[2] - t[0]);		// Toward the second corner
+		float	ay = (float)(t[3] - t[1]);
+		float	bx = (float)(t[4] - t[0]);		// Toward the third corner
+		float	by = (float)(t[5] - t[1]);
+
+		for (int i=0, n=2*m; i<n; i+=2)
+		{
+			float	u = uv[i];
+			float	v = uv[i + 1];
+
+			xy[i] = x0 + u * ax + v * bx;
+			xy[i + 1] = y0 + u * ay + v * by;
+		}
+
+		return xy;
+	}
+
+	// Fills uv with perCell points in each of the 3^depth cells, in order of
+	// cell index, as u,v pairs in the canonical triangle. Returns uv, or a
+	// larger array if uv can't hold them all.
+	public float[]	layout(int depth, int perCell, float[] uv)
+	{
+		int	cells = cellCount(depth);
+
+		ensure(perCell);
+
+		if ((uv == null) || (uv.length < 2 * cells * perCell))
+			uv = new float[2 * cells * perCell];
+
+		for (int c=0, k=0; c<cells; c++)
+		{
+			float	u = 0.0f;						// Corner 0 of cell c
+			float	v = 0.0f;
+			float	s = 1.0f;						// Size of cell c
+
+			for (int b=cells/3; b>0; b/=3)			// Digits of c, largest
+			{										// third first
+				int	d = (c / b) % 3;
+
+				s *= 0.5f;
+
+				if (d == 1)
+					u += s;
+				else if (d == 2)
+					v += s;
+			}
+
+			for (int i=0; i<perCell; i++, k+=2)
+			{
+				uv[k] = u + s * this.uv[2 * i];
+				uv[k + 1] = v + s * this.uv[2 * i + 1];
+			}
+		}
+
+		return uv;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns the OpenGL matrix, in column-major order, that maps the canonical
+	// triangle onto the triangle with corners t = {x0, y0, x1, y1, x2, y2},
+	// the same way map() does.
+	public static double[]	affine(double[] t)
+	{
+		return new double[]
+		{
+			t[2] - t[0], t[3] - t[1], 0.0, 0.0,
+			t[4] - t[0], t[5] - t[1], 0.0, 0.0,
+			0.0, 0.0, 1.0, 0.0,
+			t[0], t[1], 0.0, 1.0,
+		};
+	}
+
+	// Returns the number of cells at the given depth, 3^depth.
+	public static int	cellCount(int depth)
+	{
+		int	n = 1;
+
+		for (int i=0; i<depth; i++)
+			n *= 3;
+
+		return n;
+	}
+
+	// Finds the cells at the given depth that may show in the window, when
+	// the canonical triangle is mapped onto the triangle with corners t = {x0,
+	// y0, x1, y1, x2, y2}. Puts their indices into cells, in increasing order,
+	// and returns how many there are. The cells array must have room for
+	// 3^depth indices.
+	public static int	cull(double[] t, double xmin, double xmax,
+							 double ymin, double ymax, int depth, int[] cells)
+	{
+		return cull(t, xmin, xmax, ymin, ymax, depth, cells, 0,
+					0, 0, 0.0, 0.0, 1.0);
+	}
+
+	// Finds the ranges of points to draw for the first p points of each of n
+	// cells, in increasing order as from cull(), laid out perCell points per
+	// cell as by layout(). Puts the first point and count of each range into
+	// first and count, and returns how many ranges there are. When p is all
+	// of a cell, runs of consecutive cells merge into one range.
+	public static int	runs(int[] cells, int n, int perCell, int p,
+							 int[] first, int[] count)
+	{
+		int	r = 0;
+
+		for (int i=0, j; i<n; i=j)
+		{
+			j = i + 1;
+
+			if (p >= perCell)					// Full cells are contiguous
+				while ((j < n) && (cells[j] == cells[j - 1] + 1))
+					j++;
+
+			first[r] = cells[i] * perCell;
+			count[r] = (j - i - 1) * perCell + Math.min(p, perCell);
+			r++;
+		}
+
+		return r;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Adds the cells of sub-triangle c, at depth d, with corner 0 at u,v and
+	// sides of s, to cells from n. Returns the new n.
+	private static int	cull(double[] t, double xmin, double xmax,
+							 double ymin, double ymax, int depth, int[] cells,
+							 int n, int d, int c, double u, double v, double s)
+	{
+		double	ax = t[2] - t[0];					// Toward the second corner
+		double	ay = t[3] - t[1];
+		double	bx = t[4] - t[0];					// Toward the third corner
+		double	by = t[5] - t[1];
+
+		double	x0 = t[0] + u * ax + v * bx;		// Corners of sub-triangle
+		double	y0 = t[1] + u * ay + v * by;
+		double	x1 = x0 + s * ax;
+		double	y1 = y0 + s * ay;
+		double	x2 = x0 + s * bx;
+		double	y2 = y0 + s * by;
+
+		double	bxmin = Math.min(x0, Math.min(x1, x2));
+		double	bxmax = Math.max(x0, Math.max(x1, x2));
+		double	bymin = Math.min(y0, Math.min(y1, y2));
+		double	bymax = Math.max(y0, Math.max(y1, y2));
+
+		if ((bxmax < xmin) || (bxmin > xmax) ||	// Outside, skip all cells
+			(bymax < ymin) || (bymin > ymax))
+			return n;
+
+		if ((d == depth) ||							// Inside, add all cells
+			((bxmin >= xmin) && (bxmax <= xmax) &&
+			 (bymin >= ymin) && (bymax <= ymax)))
+		{
+			int	r = cellCount(depth - d);			// Cells in sub-triangle
+
+			for (int i=c*r; i<(c+1)*r; i++)
+				cells[n++] = i;
+
+			return n;
+		}
+
+		double	h = 0.5 * s;						// Overlapping, subdivide
+
+		n = cull(t, xmin, xmax, ymin, ymax, depth, cells, n,
+				 d + 1, 3 * c, u, v, h);
+		n = cull(t, xmin, xmax, ymin, ymax, depth, cells, n,
+				 d + 1, 3 * c + 1, u + h, v, h);
+		n = cull(t, xmin, xmax, ymin, ymax, depth, cells, n,
+				 d + 1, 3 * c + 2, u, v + h, h);
+
+		return n;
+	}
+}
+
+//******************************************************************************
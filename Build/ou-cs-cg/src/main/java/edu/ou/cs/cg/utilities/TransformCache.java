@@ -0,0 +1,396 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A CPU-side copy of the modelview matrix, projection matrix, and viewport,
+// for mapping between view (pixel) and scene coordinates without asking GL.
+// Utilities.mapViewToScene() and mapSceneToView() create a GLU and query all
+// three with glGet*() on every call, which stalls the pipeline. Instead, keep
+// a TransformCache in sync with the calls that change the GL state (e.g. call
+// setOrtho2D() right after gluOrtho2D() in updatePipeline(), and setViewport()
+// in reshape()), and map through it.
+//
+// Matrices are 4x4 in column-major order, as in GL. The inverse of the
+// combined projection*modelview matrix is only recomputed when a matrix has
+// changed since the last view-to-scene mapping. The mapping methods that take
+// an output array don't allocate.
+//
+// Results match gluProject() and gluUnProject(). When the mapping is
+// undefined, the methods that return an array return all zeroes, as the
+// Utilities methods do, and the others return false and leave the output
+// alone.
+//
+// The batch methods map count x,y pairs interleaved in an array, all at the
+// same z, with the matrices combined and inverted at most once per call. The
+// input and output arrays can be the same, to map in place.
+//
+// Not thread-safe. Use it on the GL thread only.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+
+//******************************************************************************
+
+/**
+ * The <CODE>TransformCache</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class TransformCache
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double[]		mv = new double[16];	// Modelview
+	private final double[]		pr = new double[16];	// Projection
+	private final int[]		vp = new int[4];		// Viewport
+
+	private final double[]		mvp = new double[16];	// pr * mv
+	private final double[]		inv = new double[16];	// Inverse of mvp
+	private boolean			dirty;					// mvp, inv out of date?
+	private boolean			singular;				// No inverse?
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Starts with identity matrices and an empty viewport, same as GL.
+	public TransformCache()
+	{
+		identity(mv);
+		identity(pr);
+		dirty = true;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Copies the modelview matrix into m, from offset.
+	public void	getModelview(double[] m, int offset)
+	{
+		System.arraycopy(mv, 0, m, offset, 16);
+	}
+
+	// Copies the projection matrix into m, from offset.
+	public void	getProjection(double[] m, int offset)
+	{
+		System.arraycopy(pr, 0, m, offset, 16);
+	}
+
+	// Copies the viewport into v, from offset.
+	public void	getViewport(int[] v, int offset)
+	{
+		System.arraycopy(vp, 0, v, offset, 4);
+	}
+
+	// Sets the modelview matrix, from m starting at offset.
+	public void	setModelview(double[] m, int offset)
+	{
+		System.arraycopy(m, offset, mv, 0, 16);
+		dirty = true;
+	}
+
+	// Sets the projection matrix, from m starting at offset.
+	public void	setProjection(double[] m, int offset)
+	{
+		System.arraycopy(m, offset, pr, 0, 16);
+		dirty = true;
+	}
+
+	// Same as glViewport(x, y, w, h).
+	public void	setViewport(int x, int y, int w, int h)
+	{
+		vp[0] = x;
+		vp[1] = y;
+		vp[2] = w;
+		vp[3] = h;
+	}
+
+	//**********************************************************************
+	// Public Methods (Matrices)
+	//**********************************************************************
+
+	// Same as glMatrixMode(GL_MODELVIEW) then glLoadIdentity().
+	public void	loadModelviewIdentity()
+	{
+		identity(mv);
+		dirty = true;
+	}
+
+	// Same as glMatrixMode(GL_PROJECTION), glLoadIdentity(), then
+	// gluOrtho2D(left, right, bottom, top).
+	public void	setOrtho2D(double left, double right, double bottom, double top)
+	{
+		identity(pr);
+		pr[0] = 2.0 / (right - left);
+		pr[5] = 2.0 / (top - bottom);
+		pr[10] = -1.0;
+		pr[12] = -(right + left) / (right - left);
+		pr[13] = -(top + bottom) / (top - bottom);
+		dirty = true;
+	}
+
+	// Loads the current modelview matrix, projection matrix, and viewport from
+	// GL, for when the state was set by code that doesn't keep this in sync.
+	// This costs the same glGet*() calls as one Utilities mapping call.
+	public void	load(GL2 gl)
+	{
+		gl.glGetDoublev(GLMatrixFunc.GL_MODELVIEW_MATRIX, mv, 0);
+		gl.glGetDoublev(GLMatrixFunc.GL_PROJECTION_MATRIX, pr, 0);
+		gl.glGetIntegerv(GL.GL_VIEWPORT, vp, 0);
+		dirty = true;
+	}
+
+	//**********************************************************************
+	// Public Methods (Coordinate Mapping)
+	//**********************************************************************
+
+	// Same as Utilities.mapViewToScene(), but without asking GL. Give this
+	// method integer x and y coordinates, e.g. of a mouse event.
+	public double[]	mapViewToScene(double x, double y, double z)
+	{
+		double[]	p = new double[3];		// Zeroes if undefined
+
+		mapViewToScene(x, y, z, p, 0);
+
+		return p;
+	}
+
+	// Same as Utilities.mapSceneToView(), but without asking GL. Receive from
+	// this method integer x and y pixel coordinates of scene item.
+	public double[]	mapSceneToView(double x, double y, double z)
+	{
+		double[]	p = new double[3];		// Zeroes if undefined
+
+		mapSceneToView(x, y, z, p, 0);
+
+		return p;
+	}
+
+	// Maps view coordinates to scene coordinates into p, from offset.
+	// Returns false if the mapping is undefined.
+	public boolean	mapViewToScene(double x, double y, double z,
+								   double[] p, int offset)
+	{
+		update();
+
+		if (singular)
+			return false;
+
+		// From window to normalized device coordinates
+		double	nx = 2.0 * (x - vp[0]) / vp[2] - 1.0;
+		double	ny = 2.0 * (y - vp[1]) / vp[3] - 1.0;
+		double	nz = 2.0 * z - 1.0;
+
+		double	ox = inv[0] * nx + inv[4] * ny + inv[8] * nz + inv[12];
+		double	oy = inv[1] * nx + inv[5] * ny + inv[9] * nz + inv[13];
+		double	oz = inv[2] * nx + inv[6] * ny + inv[10] * nz + inv[14];
+		double	ow = inv[3] * nx + inv[7] * ny + inv[11] * nz + inv[15];
+
+		if (ow == 0.0)
+			return false;
+
+		p[offset] = ox / ow;
+		p[offset+1] = oy / ow;
+		p[offset+2] = oz / ow;
+
+		return true;
+	}
+
+	// Maps scene coordinates to view coordinates into p, from offset.
+	// Returns false if the mapping is undefined.
+	public boolean	mapSceneToView(double x, double y, double z,
+								   double[] p, int offset)
+	{
+		update();
+
+		double	cx = mvp[0] * x + mvp[4] * y + mvp[8] * z + mvp[12];
+		double	cy = mvp[1] * x + mvp[5] * y + mvp[9] * z + mvp[13];
+		double	cz = mvp[2] * x + mvp[6] * y + mvp[10] * z + mvp[14];
+		double	cw = mvp[3] * x + mvp[7] * y + mvp[11] * z + mvp[15];
+
+		if (cw == 0.0)
+			return false;
+
+		// From clip to normalized device to window coordinates
+		p[offset] = vp[0] + vp[2] * (cx / cw + 1.0) * 0.5;
+		p[offset+1] = vp[1] + vp[3] * (cy / cw + 1.0) * 0.5;
+		p[offset+2] = (cz / cw + 1.0) * 0.5;
+
+		return true;
+	}
+
+	//**********************************************************************
+	// Public Methods (Batch Coordinate Mapping)
+	//**********************************************************************
+
+	// Maps count points from view coordinates in vxy (starting at voffset)
+	// to scene coordinates in sxy (starting at soffset). Returns the number
+	// mapped, which is less than count only if the mapping is undefined for
+	// a point, in which case it and the points after it are left alone.
+	public int	mapViewToScene(double[] vxy, int voffset, double[] sxy,
+							   int soffset, int count, double z)
+	{
+		update();
+
+		if (singular)
+			return 0;
+
+		// Everything that doesn't depend on x and y, done once
+		double	ax = 2.0 / vp[2];
+		double	bx = -2.0 * vp[0] / vp[2] - 1.0;
+		double	ay = 2.0 / vp[3];
+		double	by = -2.0 * vp[1] / vp[3] - 1.0;
+		double	nz = 2.0 * z - 1.0;
+
+		double	cx = inv[8] * nz + inv[12];
+		double	cy = inv[9] * nz + inv[13];
+		double	cw = inv[11] * nz + inv[15];
+
+		for (int i=0; i<count; i++)
+		{
+			double	nx = ax * vxy[voffset+2*i] + bx;
+			double	ny = ay * vxy[voffset+2*i+1] + by;
+			double	ow = inv[3] * nx + inv[7] * ny + cw;
+
+			if (ow == 0.0)
+				return i;
+
+			sxy[soffset+2*i] = (inv[0] * nx + inv[4] * ny + cx) / ow;
+			sxy[soffset+2*i+1] = (inv[1] * nx + inv[5] * ny + cy) / ow;
+		}
+
+		return count;
+	}
+
+	// Maps count points from scene coordinates in sxy (starting at soffset)
+	// to view coordinates in vxy (starting at voffset). Returns the number
+	// mapped, which is less than count only if the mapping is undefined for
+	// a point, in which case it and the points after it are left alone.
+	public int	mapSceneToView(double[] sxy, int soffset, double[] vxy,
+							   int voffset, int count, double z)
+	{
+		update();
+
+		// Everything that doesn't depend on x and y, done once
+		double	cx = mvp[8] * z + mvp[12];
+		double	cy = mvp[9] * z + mvp[13];
+		double	cw = mvp[11] * z + mvp[15];
+		double	hx = 0.5 * vp[2];
+		double	hy = 0.5 * vp[3];
+
+		for (int i=0; i<count; i++)
+		{
+			double	x = sxy[soffset+2*i];
+			double	y = sxy[soffset+2*i+1];
+			double	w = mvp[3] * x + mvp[7] * y + cw;
+
+			if (w == 0.0)
+				return i;
+
+			double	nx = (mvp[0] * x + mvp[4] * y + cx) / w;
+			double	ny = (mvp[1] * x + mvp[5] * y + cy) / w;
+
+			vxy[voffset+2*i] = vp[0] + hx * (nx + 1.0);
+			vxy[voffset+2*i+1] = vp[1] + hy * (ny + 1.0);
+		}
+
+		return count;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static void	identity(double[] m)
+	{
+		for (int i=0; i<16; i++)
+			m[i] = (((i % 5) == 0) ? 1.0 : 0.0);
+	}
+
+	// Sets r to a * b. All are column-major and r must be neither a nor b.
+	private static void	multiply(double[] a, double[] b, double[] r)
+	{
+		for (int c=0; c<4; c++)
+			for (int i=0; i<4; i++)
+				r[4*c+i] = a[i] * b[4*c] + a[4+i] * b[4*c+1] +
+					a[8+i] * b[4*c+2] + a[12+i] * b[4*c+3];
+	}
+
+	// Sets r to the inverse of m by cofactors. Returns false if singular.
+	private static boolean	invert(double[] m, double[] r)
+	{
+		r[0] = m[5]*m[10]*m[15] - m[5]*m[11]*m[14] - m[9]*m[6]*m[15] +
+			m[9]*m[7]*m[14] + m[13]*m[6]*m[11] - m[13]*m[7]*m[10];
+		r[4] = -m[4]*m[10]*m[15] + m[4]*m[11]*m[14] + m[8]*m[6]*m[15] -
+			m[8]*m[7]*m[14] - m[12]*m[6]*m[11] + m[12]*m[7]*m[10];
+		r[8] = m[4]*m[9]*m[15] - m[4]*m[11]*m[13] - m[8]*m[5]*m[15] +
+			m[8]*m[7]*m[13] + m[12]*m[5]*m[11] - m[12]*m[7]*m[9];
+		r[12] = -m[4]*m[9]*m[14] + m[4]*m[10]*m[13] + m[8]*m[5]*m[14] -
+			m[8]*m[6]*m[13] - m[12]*m[5]*m[10] + m[12]*m[6]*m[9];
+		r[1] = -m[1]*m[10]*m[15] + m[1]*m[11]*m[14] + m[9]*m[2]*m[15] -
+			m[9]*m[3]*m[14] - m[13]*m[2]*m[11] + m[13]*m[3]*m[10];
+		r[5] = m[0]*m[10]*m[15] - m[0]*m[11]*m[14] - m[8]*m[2]*m[15] +
+			m[8]*m[3]*m[14] + m[12]*m[2]*m[11] - m[12]*m[3]*m[10];
+		r[9] = -m[0]*m[9]*m[15] + m[0]*m[11]*m[13] + m[8]*m[1]*m[15] -
+			m[8]*m[3]*m[13] - m[12]*m[1]*m[11] + m[12]*m[3]*m[9];
+		r[13] = m[0]*m[9]*m[14] - m[0]*m[10]*m[13] - m[8]*m[1]*m[14] +
+			m[8]*m[2]*m[13] + m[12]*m[1]*m[10] - m[12]*m[2]*m[9];
+		r[2] = m[1]*m[6]*m[15] - m[1]*m[7]*m[14] - m[5]*m[2]*m[15] +
+			m[5]*m[3]*m[14] + m[13]*m[2]*m[7] - m[13]*m[3]*m[6];
+		r[6] = -m[0]*m[6]*m[15] + m[0]*m[7]*m[14] + m[4]*m[2]*m[15] -
+			m[4]*m[3]*m[14] - m[12]*m[2]*m[7] + m[12]*m[3]*m[6];
+		r[10] = m[0]*m[5]*m[15] - m[0]*m[7]*m[13] - m[4]*m[1]*m[15] +
+			m[4]*m[3]*m[13] + m[12]*m[1]*m[7] - m[12]*m[3]*m[5];
+		r[14] = -m[0]*m[5]*m[14] + m[0]*m[6]*m[13] + m[4]*m[1]*m[14] -
+			m[4]*m[2]*m[13] - m[12]*m[1]*m[6] + m[12]*m[2]*m[5];
+		r[3] = -m[1]*m[6]*m[11] + m[1]*m[7]*m[10] + m[5]*m[2]*m[11] -
+			m[5]*m[3]*m[10] - m[9]*m[2]*m[7] + m[9]*m[3]*m[6];
+		r[7] = m[0]*m[6]*m[11] - m[0]*m[7]*m[10] - m[4]*m[2]*m[11] +
+			m[4]*m[3]*m[10] + m[8]*m[2]*m[7] - m[8]*m[3]*m[6];
+		r[11] = -m[0]*m[5]*m[11] + m[0]*m[7]*m[9] + m[4]*m[1]*m[11] -
+			m[4]*m[3]*m[9] - m[8]*m[1]*m[7] + m[8]*m[3]*m[5];
+		r[15] = m[0]*m[5]*m[10] - m[0]*m[6]*m[9] - m[4]*m[1]*m[10] +
+			m[4]*m[2]*m[9] + m[8]*m[1]*m[6] - m[8]*m[2]*m[5];
+
+		double	det = m[0] * r[0] + m[1] * r[4] + m[2] * r[8] + m[3] * r[12];
+
+		if (det == 0.0)
+			return false;
+
+		for (int i=0; i<16; i++)
+			r[i] /= det;
+
+		return true;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Recomputes the combined matrix and its inverse if either has changed.
+	private void	update()
+	{
+		if (!dirty)
+			return;
+
+		multiply(pr, mv, mvp);
+		singular = !invert(mvp, inv);
+		dirty = false;
+	}
+}
+
+//******************************************************************************
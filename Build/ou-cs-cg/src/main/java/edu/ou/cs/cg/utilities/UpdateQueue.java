@@ -0,0 +1,160 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A lock-free queue of updates from any number of threads (e.g. the AWT event
+// thread) to the OpenGL thread, which applies them all at once by calling
+// drain() in GLEventListener.display(). It replaces calling
+// GLAutoDrawable.invoke() for every update, which locks and allocates for
+// each one. Handlers that map view coordinates into the scene need the
+// frame's matrices, so set them up (and any TransformCache) before draining.
+//
+// There are two kinds of updates:
+//
+//   invoke(runnable)	Runs the GLRunnable, in order with other updates.
+//   set(slot, value)	Keeps only the latest value for the slot. The slot's
+//					handler runs once per drain with that value, in the
+//					order of the first set() since the last drain.
+//
+// Slots are for updates where only the latest value matters, like the cursor
+// position on every mouse movement. Setting a slot that already has a value
+// waiting just replaces the value, without allocating or queueing anything.
+// Values can be null.
+//
+// Updates queued while draining wait for the next drain, so a steady stream
+// of input can't hold up a frame.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>UpdateQueue</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class UpdateQueue
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Stands in for null slot values, since null means no value is waiting
+	private static final Object	NULL = new Object();
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// GLRunnables, Slots (whose values are waiting), and drain end markers
+	private final ConcurrentLinkedQueue<Object>	queue;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public UpdateQueue()
+	{
+		queue = new ConcurrentLinkedQueue<Object>();
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Creates a slot whose latest value is passed to the handler on drain.
+	public <T> Slot<T>	createSlot(Handler<T> handler)
+	{
+		return new Slot<T>(handler);
+	}
+
+	// Queues the runnable to run on the next drain. Any thread.
+	public void	invoke(GLRunnable runnable)
+	{
+		queue.offer(runnable);
+	}
+
+	// Sets the slot's value for the next drain, replacing any value already
+	// waiting. Any thread.
+	public <T> void	set(Slot<T> slot, T value)
+	{
+		Object	v = ((value == null) ? NULL : value);
+
+		// Queue the slot only if no value was waiting, so it's queued once
+		if (slot.latest.getAndSet(v) == null)
+			queue.offer(slot);
+	}
+
+	// Applies everything queued before this call, in order. Returns how many
+	// runnables and slots were applied. OpenGL thread.
+	public int	drain(GLAutoDrawable drawable)
+	{
+		if (queue.isEmpty())
+			return 0;
+
+		Object	end = new Object();
+
+		queue.offer(end);
+
+		GL2	gl = drawable.getGL().getGL2();
+		int	n = 0;
+
+		for (Object o=queue.poll(); o != end; o=queue.poll(), n++)
+		{
+			if (o instanceof Slot)
+				((Slot<?>)o).apply(gl);
+			else
+				((GLRunnable)o).run(drawable);
+		}
+
+		return n;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Handles the latest value of a slot.
+	public interface Handler<T>
+	{
+		public void	update(GL2 gl, T value);
+	}
+
+	// A coalescing update, made by createSlot().
+	public static final class Slot<T>
+	{
+		private final Handler<T>				handler;
+		private final AtomicReference<Object>	latest;	// Waiting, or null
+
+		private Slot(Handler<T> handler)
+		{
+			this.handler = handler;
+
+			latest = new AtomicReference<Object>();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void	apply(GL2 gl)
+		{
+			Object	v = latest.getAndSet(null);
+
+			if (v != null)
+				handler.update(gl, ((v == NULL) ? null : (T)v));
+		}
+	}
+}
+
+//******************************************************************************
@@ -98,6 +98,34 @@ public final class Utilities
 		return p;
 	}
 
+	// Maps count x,y pairs at depth z from view coordinates in vxy to scene
+	// coordinates in sxy, querying GL and inverting the matrices only once.
+	// Returns the number of points mapped. See TransformCache.
+	public static int	mapViewToScene(GL2 gl, double[] vxy, int voffset,
+									   double[] sxy, int soffset, int count,
+									   double z)
+	{
+		TransformCache	transform = new TransformCache();
+
+		transform.load(gl);
+
+		return transform.mapViewToScene(vxy, voffset, sxy, soffset, count, z);
+	}
+
+	// Maps count x,y pairs at depth z from scene coordinates in sxy to view
+	// coordinates in vxy, querying GL only once. Returns the number of points
+	// mapped. See TransformCache.
+	public static int	mapSceneToView(GL2 gl, double[] sxy, int soffset,
+									   double[] vxy, int voffset, int count,
+									   double z)
+	{
+		TransformCache	transform = new TransformCache();
+
+		transform.load(gl);
+
+		return transform.mapSceneToView(sxy, soffset, vxy, voffset, count, z);
+	}
+
 	//**********************************************************************
 	// Public Class Methods (Event Handling)
 	//**********************************************************************
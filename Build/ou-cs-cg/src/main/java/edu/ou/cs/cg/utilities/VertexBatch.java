@@ -0,0 +1,355 @@
+//******************************************************************************
+// Copyright (C) 2023 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Major Modification History:
+//
+// 20230318:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A list of colored 2D vertices kept in a direct FloatBuffer and drawn from a
+// vertex buffer object with glDrawArrays(). It replaces glBegin()/glVertex*()/
+// glEnd(), which makes a native call per vertex (two with a color) on every
+// frame, even when nothing has changed.
+//
+// Each vertex is interleaved as x, y, r, g, b, a. Add vertices with add(),
+// which uses the current color(), or overwrite them in place with set(), or
+// overwrite just their colors with recolor(). The batch remembers the range
+// of vertices changed since the last upload, and draw() sends only that range
+// to the GPU with glBufferSubData(). Geometry that doesn't change is uploaded
+// once. Growing past the capacity of the GPU buffer reallocates it, at double
+// the size, so a batch that is refilled every frame settles into one
+// glBufferSubData() per frame.
+//
+// To redraw different geometry every frame, clear() then add() it again. To
+// draw several shapes from one batch, add them one after another and draw
+// each with draw(gl, mode, first, count). Each draw() binds the VBO and sets
+// up the vertex arrays again. To draw many ranges in a row, with only matrix
+// or viewport changes in between, bind() once, drawBound() each range, then
+// unbind(). To draw many ranges with the same matrices, pass them all to one
+// drawBound(), which makes a single glMultiDrawArrays() call.
+//
+// The VBO is created on the first draw(). Call dispose() from the listener's
+// dispose() to delete it. Not thread-safe. Use it on the GL thread only.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>VertexBatch</CODE> class.<P>
+ *
+ * @version %I%, %G%
+ */
+public final class VertexBatch
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	FLOATS = 6;					// x, y, r, g, b, a
+	private static final int	STRIDE = FLOATS * Buffers.SIZEOF_FLOAT;
+	private static final int	COLOR_OFFSET = 2 * Buffers.SIZEOF_FLOAT;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int			usage;			// GL_STATIC/DYNAMIC_DRAW
+
+	private FloatBuffer		data;			// Interleaved vertices
+	private int				capacity;		// Vertices that fit in data
+	private int				size;			// Vertices in use
+
+	private int				vbo;			// Buffer name, or 0 if none
+	private int				allocated;		// Vertices that fit in vbo
+	private int				dirtyLo;		// Changed since last upload,
+	private int				dirtyHi;		// from lo to hi (exclusive)
+
+	private float				r;				// Current color
+	private float				g;
+	private float				b;
+	private float				a;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Creates an empty batch with room for capacity vertices. Pass true for
+	// dynamic if it will be refilled often, as a hint to the driver.
+	public VertexBatch(int capacity, boolean dynamic)
+	{
+		this.capacity = Math.max(capacity, 1);
+
+		usage = (dynamic ? GL.GL_DYNAMIC_DRAW : GL.GL_STATIC_DRAW);
+		data = Buffers.newDirectFloatBuffer(this.capacity * FLOATS);
+		size = 0;
+
+		vbo = 0;
+		allocated = 0;
+		dirtyLo = Integer.MAX_VALUE;
+		dirtyHi = 0;
+
+		color(1.0f, 1.0f, 1.0f, 1.0f);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getSize()
+	{
+		return size;
+	}
+
+	public boolean	isEmpty()
+	{
+		return (size == 0);
+	}
+
+	public int	getCapacity()
+	{
+		return capacity;
+	}
+
+	// Sets the color for vertices added or set after this.
+	public void	color(float r, float g, float b)
+	{
+		color(r, g, b, 1.0f);
+	}
+
+	// Sets the color for vertices added or set after this.
+	public void	color(float r, float g, float b, float a)
+	{
+		this.r = r;
+		this.g = g;
+		this.b = b;
+		this.a = a;
+	}
+
+	//**********************************************************************
+	// Public Methods (Vertices)
+	//**********************************************************************
+
+	// Removes all vertices. Keeps the buffers for reuse.
+	public void	clear()
+	{
+		size = 0;
+	}
+
+	// Appends a vertex in the current color.
+	public void	add(double x, double y)
+	{
+		if (size == capacity)
+			grow(2 * capacity);
+
+		put(size++, x, y);
+	}
+
+	// Replaces all of the vertices with count positions from the x,y pairs
+	// in xy, starting at pair offset, in the current color.
+	public void	load(float[] xy, int offset, int count)
+	{
+		size = 0;
+
+		if (count > capacity)
+			grow(Math.max(count, 2 * capacity));
+
+		for (int i=0, j=2*offset; i<count; i++, j+=2)
+			put(i, xy[j], xy[j + 1]);
+
+		size = count;
+	}
+
+	// Overwrites vertex i with a position in the current color.
+	public void	set(int i, double x, double y)
+	{
+		if ((i < 0) || (i >= size))
+			throw new IndexOutOfBoundsException("Vertex " + i + " of " + size);
+
+		put(i, x, y);
+	}
+
+	// Overwrites the color of vertex i with the current color.
+	public void	recolor(int i)
+	{
+		if ((i < 0) || (i >= size))
+			throw new IndexOutOfBoundsException("Vertex " + i + " of " + size);
+
+		int	k = i * FLOATS;
+
+		data.put(k + 2, r);
+		data.put(k + 3, g);
+		data.put(k + 4, b);
+		data.put(k + 5, a);
+
+		dirtyLo = Math.min(dirtyLo, i);
+		dirtyHi = Math.max(dirtyHi, i + 1);
+	}
+
+	// Drops vertices after the first n.
+	public void	truncate(int n)
+	{
+		size = Math.max(0, Math.min(n, size));
+	}
+
+	//**********************************************************************
+	// Public Methods (Drawing)
+	//**********************************************************************
+
+	// Draws all of the vertices as primitives of the given mode.
+	public void	draw(GL2 gl, int mode)
+	{
+		draw(gl, mode, 0, size);
+	}
+
+	// Draws count vertices, starting at first, as primitives of the given
+	// mode. Uploads any vertices that changed since the last draw first.
+	public void	draw(GL2 gl, int mode, int first, int count)
+	{
+		if (Math.min(count, size - first) <= 0)
+			return;
+
+		bind(gl);
+		drawBound(gl, mode, first, count);
+		unbind(gl);
+	}
+
+	// Uploads any vertices that changed since the last draw, then binds the
+	// VBO and points the vertex and color arrays into it.
+	public void	bind(GL2 gl)
+	{
+		upload(gl);
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+		gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+		gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, 0L);
+		gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, COLOR_OFFSET);
+	}
+
+	// Draws count vertices, starting at first, between bind() and unbind().
+	// Vertices changed since bind() aren't uploaded until the next bind().
+	public void	drawBound(GL2 gl, int mode, int first, int count)
+	{
+		count = Math.min(count, size - first);
+
+		if (count > 0)
+			gl.glDrawArrays(mode, first, count);
+	}
+
+	// Draws n ranges in one call, range i being count[i] vertices starting at
+	// first[i], between bind() and unbind(). Counts past the end of the batch
+	// are cut short in place.
+	public void	drawBound(GL2 gl, int mode, int[] first, int[] count, int n)
+	{
+		for (int i=0; i<n; i++)
+			count[i] = Math.max(0, Math.min(count[i], size - first[i]));
+
+		if (n > 0)
+			gl.glMultiDrawArrays(mode, first, 0, count, 0, n);
+	}
+
+	// Undoes bind().
+	public void	unbind(GL2 gl)
+	{
+		gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+		gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+
+	// Deletes the VBO. The vertices are kept, and will be uploaded again
+	// on the next draw().
+	public void	dispose(GL2 gl)
+	{
+		if (vbo != 0)
+			gl.glDeleteBuffers(1, new int[] { vbo }, 0);
+
+		vbo = 0;
+		allocated = 0;
+		dirtyLo = 0;
+		dirtyHi = size;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	put(int i, double x, double y)
+	{
+		int	k = i * FLOATS;
+
+		data.put(k,     (float)x);
+		data.put(k + 1, (float)y);
+		data.put(k + 2, r);
+		data.put(k + 3, g);
+		data.put(k + 4, b);
+		data.put(k + 5, a);
+
+		dirtyLo = Math.min(dirtyLo, i);
+		dirtyHi = Math.max(dirtyHi, i + 1);
+	}
+
+	private void	grow(int n)
+	{
+		FloatBuffer	next = Buffers.newDirectFloatBuffer(n * FLOATS);
+
+		data.position(0);
+		data.limit(size * FLOATS);
+		next.put(data);
+		data.clear();
+		next.clear();
+
+		data = next;
+		capacity = n;
+	}
+
+	// Sends the changed vertices to the VBO, creating or growing it first
+	// (and sending everything) if it's too small.
+	private void	upload(GL2 gl)
+	{
+		if (vbo == 0)
+		{
+			int[]	names = new int[1];
+
+			gl.glGenBuffers(1, names, 0);
+			vbo = names[0];
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+
+		if (allocated < capacity)
+		{
+			data.position(0);
+			data.limit(capacity * FLOATS);
+			gl.glBufferData(GL.GL_ARRAY_BUFFER, (long)capacity * STRIDE,
+							data, usage);
+			allocated = capacity;
+		}
+		else if (dirtyLo < Math.min(dirtyHi, size))
+		{
+			int	hi = Math.min(dirtyHi, size);
+
+			data.position(dirtyLo * FLOATS);
+			data.limit(hi * FLOATS);
+			gl.glBufferSubData(GL.GL_ARRAY_BUFFER, (long)dirtyLo * STRIDE,
+							   (long)(hi - dirtyLo) * STRIDE, data);
+		}
+
+		data.clear();
+		dirtyLo = Integer.MAX_VALUE;
+		dirtyHi = 0;
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+}
+
+//******************************************************************************